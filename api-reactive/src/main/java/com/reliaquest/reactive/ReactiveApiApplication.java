@@ -0,0 +1,20 @@
+package com.reliaquest.reactive;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+/**
+ * WebFlux variant of the employee api, serving the same routes on Netty. Configured from {@code api-reactive.yml} so
+ * the api module's {@code application.yml}, which is on the classpath as well, does not apply.
+ */
+@SpringBootApplication
+public class ReactiveApiApplication {
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveApiApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .properties("spring.config.name=api-reactive")
+                .run(args);
+    }
+}
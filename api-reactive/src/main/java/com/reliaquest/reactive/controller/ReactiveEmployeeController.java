@@ -0,0 +1,134 @@
+package com.reliaquest.reactive.controller;
+
+import com.reliaquest.api.entity.CreateEmployeeRequest;
+import com.reliaquest.api.entity.Employee;
+import com.reliaquest.api.store.EmployeeStore;
+import com.reliaquest.reactive.service.ReactiveEmployeeService;
+import java.util.Arrays;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Serves the routes of the api module's {@code IEmployeeController} with the same responses, without blocking a
+ * thread per request. The employee list is streamed, as a JSON array or, for {@code application/x-ndjson}, one
+ * employee per line.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/employees")
+public class ReactiveEmployeeController {
+
+    private final ReactiveEmployeeService employeeService;
+
+    public ReactiveEmployeeController(ReactiveEmployeeService employeeService) {
+        this.employeeService = employeeService;
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<Employee> getAllEmployees() {
+        return employeeService.getAllEmployees();
+    }
+
+    @GetMapping("/search/{searchString}")
+    public Mono<ResponseEntity<List<Employee>>> getEmployeesByNameSearch(@PathVariable String searchString) {
+        return employeeService
+                .getAllEmployees()
+                .filter(employee -> employee.getName().contains(searchString))
+                .collectList()
+                .map(employees -> {
+                    if (employees.isEmpty()) {
+                        log.error("Employee not found with name : {}", searchString);
+                        return ResponseEntity.status(HttpStatus.NOT_FOUND).<List<Employee>>body(null);
+                    }
+                    return ResponseEntity.ok(employees);
+                });
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Employee>> getEmployeeById(@PathVariable String id) {
+        return employeeService
+                .getEmployeeById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND).body(null));
+    }
+
+    @GetMapping("/highestSalary")
+    public Mono<ResponseEntity<Integer>> getHighestSalaryOfEmployees() {
+        return employeeService.getEmployeeStore().map(store -> ResponseEntity.ok((int) store.maxSalary()));
+    }
+
+    @GetMapping("/topTenHighestEarningEmployeeNames")
+    public Mono<ResponseEntity<List<String>>> getTopTenHighestEarningEmployeeNames() {
+        return employeeService.getEmployeeStore().map(store -> {
+            List<String> topTenNames = Arrays.stream(store.topBySalary(10))
+                    .mapToObj(store::name)
+                    .toList();
+            if (topTenNames.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).<List<String>>body(null);
+            }
+            return ResponseEntity.ok(topTenNames);
+        });
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Employee>> createEmployee(@RequestBody CreateEmployeeRequest employeeInput) {
+        return employeeService.createEmployee(employeeInput).map(ResponseEntity::ok);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<String>> deleteEmployeeById(@PathVariable String id) {
+        return findEmployeeForDelete(id)
+                .flatMap(employeeService::deleteEmployee)
+                .map(employee -> ResponseEntity.ok(employee.getName()))
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND).body(null));
+    }
+
+    /*
+     * A 429 that was not retried is answered with 503, like a request the servlet api's scheduler sheds.
+     */
+    @ExceptionHandler(WebClientResponseException.class)
+    public ResponseEntity<Void> handleUpstreamError(WebClientResponseException e) {
+        log.error("Error processing your request, failed with status code {} ", e.getStatusCode());
+        if (e instanceof WebClientResponseException.TooManyRequests) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.status(e.getStatusCode()).build();
+    }
+
+    @ExceptionHandler(WebClientRequestException.class)
+    public ResponseEntity<Void> handleUpstreamUnavailable(WebClientRequestException e) {
+        log.error(e.getMessage());
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+    }
+
+    /*
+     * Resolves the employee from the cached snapshot's id index, falling back to a by-id lookup, like the servlet
+     * controller does.
+     */
+    private Mono<Employee> findEmployeeForDelete(String id) {
+        return employeeService
+                .getEmployeeStore()
+                .onErrorResume(e -> Mono.empty())
+                .mapNotNull(store -> employeeAt(store, store.indexOf(id)))
+                .switchIfEmpty(Mono.defer(() -> employeeService.getEmployeeById(id)));
+    }
+
+    private static Employee employeeAt(EmployeeStore store, int row) {
+        return row >= 0 ? store.get(row) : null;
+    }
+}
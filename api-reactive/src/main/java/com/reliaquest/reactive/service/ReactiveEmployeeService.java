@@ -0,0 +1,178 @@
+package com.reliaquest.reactive.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.reliaquest.api.entity.ApiListReponse;
+import com.reliaquest.api.entity.ApiResponse;
+import com.reliaquest.api.entity.CreateEmployeeRequest;
+import com.reliaquest.api.entity.DeleteEmployeeApiRequestInput;
+import com.reliaquest.api.entity.Employee;
+import com.reliaquest.api.store.EmployeeStore;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * Non-blocking counterpart of the api module's {@code EmployeeServiceImpl}.
+ *
+ * <p>Upstream calls go through {@link WebClient}. Like {@code RetryUtility}, a 429 is retried once, and only if the
+ * wait for it, {@code employee.api.initial-backoff}, ends within {@code employee.api.retry-deadline}; otherwise it
+ * fails right away. The retry waits without holding a thread. Results are cached in Caffeine {@link AsyncCache}s
+ * holding the in-flight futures, so concurrent misses for the same key share a single upstream request. Failures are
+ * never cached.
+ */
+@Slf4j
+@Service
+public class ReactiveEmployeeService {
+
+    private static final int MAX_RETRIES = 1; // a single retry, like RetryUtility
+    private static final String ALL = "all";
+
+    private final WebClient webClient;
+    private final Retry retry;
+    private final AsyncCache<String, EmployeeStore> storeCache;
+    private final AsyncCache<String, Employee> employeeCache;
+
+    private volatile boolean deleteByIdSupported = true;
+
+    @Autowired
+    public ReactiveEmployeeService(
+            WebClient.Builder webClientBuilder,
+            @Value("${employee.api.base-url:http://localhost:8112/api/v1/employee}") String url,
+            @Value("${employee.api.initial-backoff:30s}") Duration initialBackoff,
+            @Value("${employee.api.retry-deadline:2s}") Duration retryDeadline,
+            @Value("${employee.cache.defaults.maximum-size:10000}") long maximumSize,
+            @Value("${employee.cache.defaults.expire-after-write:5m}") Duration expireAfterWrite) {
+        this(webClientBuilder.baseUrl(url).build(), initialBackoff, retryDeadline, maximumSize, expireAfterWrite);
+    }
+
+    public ReactiveEmployeeService(
+            WebClient webClient,
+            Duration initialBackoff,
+            Duration retryDeadline,
+            long maximumSize,
+            Duration expireAfterWrite) {
+        this.webClient = webClient;
+        int retries = initialBackoff.compareTo(retryDeadline) <= 0 ? MAX_RETRIES : 0;
+        this.retry = Retry.fixedDelay(retries, initialBackoff)
+                .filter(WebClientResponseException.TooManyRequests.class::isInstance)
+                .doBeforeRetry(signal -> log.warn("Too many requests. Retrying in {}", initialBackoff))
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+        this.storeCache =
+                Caffeine.newBuilder().expireAfterWrite(expireAfterWrite).maximumSize(1).buildAsync();
+        this.employeeCache = Caffeine.newBuilder()
+                .expireAfterWrite(expireAfterWrite)
+                .maximumSize(maximumSize)
+                .buildAsync();
+    }
+
+    public Mono<EmployeeStore> getEmployeeStore() {
+        return cached(storeCache, ALL, key -> fetchEmployeeStore());
+    }
+
+    /**
+     * Streams the cached snapshot row by row, materializing employees only as fast as the subscriber requests them.
+     */
+    public Flux<Employee> getAllEmployees() {
+        return getEmployeeStore().flatMapMany(store -> Flux.range(0, store.size()).map(store::get));
+    }
+
+    /**
+     * @return the employee, or a {@link WebClientResponseException.NotFound} error if upstream does not know the id
+     */
+    public Mono<Employee> getEmployeeById(String id) {
+        return cached(employeeCache, id, this::fetchEmployee);
+    }
+
+    public Mono<Employee> createEmployee(CreateEmployeeRequest employeeInput) {
+        return webClient
+                .post()
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(employeeInput)
+                .retrieve()
+                .bodyToMono(ApiResponse.class)
+                .retryWhen(retry)
+                .mapNotNull(ApiResponse::getData)
+                .doOnNext(employee -> storeCache.synchronous().invalidateAll());
+    }
+
+    /*
+     * Deletes by id, falling back to the by-name route for mock servers that answer 405, like EmployeeServiceImpl.
+     */
+    public Mono<Employee> deleteEmployee(Employee employee) {
+        Mono<Void> delete = deleteByIdSupported
+                ? deleteById(employee.getId()).onErrorResume(WebClientResponseException.MethodNotAllowed.class, e -> {
+                    log.warn("Upstream does not support delete by id, falling back to delete by name");
+                    deleteByIdSupported = false;
+                    return deleteByName(employee.getName());
+                })
+                : deleteByName(employee.getName());
+        return delete.then(Mono.fromRunnable(() -> {
+                    storeCache.synchronous().invalidateAll();
+                    employeeCache.synchronous().invalidate(employee.getId());
+                }))
+                .thenReturn(employee);
+    }
+
+    /*
+     * Caffeine drops a failed future only after the callbacks registered on it have run, so a caller retrying right
+     * after an error could be handed the same failure; it is removed here first.
+     */
+    private static <V> Mono<V> cached(AsyncCache<String, V> cache, String key, Function<String, Mono<V>> loader) {
+        return Mono.defer(() -> {
+            CompletableFuture<V> future = cache.get(key, (k, executor) -> loader.apply(k).toFuture());
+            return Mono.fromFuture(future, true).doOnError(e -> cache.asMap().remove(key, future));
+        });
+    }
+
+    private Mono<EmployeeStore> fetchEmployeeStore() {
+        return webClient
+                .get()
+                .retrieve()
+                .bodyToMono(ApiListReponse.class)
+                .retryWhen(retry)
+                .map(response -> EmployeeStore.of(response.getData()));
+    }
+
+    private Mono<Employee> fetchEmployee(String id) {
+        return webClient
+                .get()
+                .uri("/{id}", id)
+                .retrieve()
+                .bodyToMono(ApiResponse.class)
+                .retryWhen(retry)
+                .mapNotNull(ApiResponse::getData);
+    }
+
+    private Mono<Void> deleteById(String id) {
+        return webClient
+                .delete()
+                .uri("/{id}", id)
+                .retrieve()
+                .toBodilessEntity()
+                .retryWhen(retry)
+                .then();
+    }
+
+    private Mono<Void> deleteByName(String name) {
+        return webClient
+                .method(HttpMethod.DELETE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new DeleteEmployeeApiRequestInput(name))
+                .retrieve()
+                .toBodilessEntity()
+                .retryWhen(retry)
+                .then();
+    }
+}
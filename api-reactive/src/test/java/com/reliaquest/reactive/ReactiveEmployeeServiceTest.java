@@ -0,0 +1,108 @@
+package com.reliaquest.reactive;
+
+import com.reliaquest.api.entity.Employee;
+import com.reliaquest.reactive.service.ReactiveEmployeeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReactiveEmployeeServiceTest {
+
+    private static final String LIST_BODY = """
+            {"data": [
+              {"id": "1", "employee_name": "Alice", "employee_salary": 50000, "employee_age": 30, "employee_title": "Engineer"},
+              {"id": "2", "employee_name": "Bob", "employee_salary": 70000, "employee_age": 35, "employee_title": "Manager"}
+            ], "status": "Successfully processed request."}
+            """;
+
+    private final Deque<HttpStatus> statuses = new ArrayDeque<>();
+    private final AtomicInteger requests = new AtomicInteger();
+
+    private final ReactiveEmployeeService employeeService = service(Duration.ofMillis(10));
+
+    @Test
+    void testStreamsCachedEmployeesWithSingleUpstreamRequest() {
+        StepVerifier.create(employeeService.getAllEmployees().map(Employee::getName), 1)
+                .expectNext("Alice")
+                .thenRequest(1)
+                .expectNext("Bob")
+                .verifyComplete();
+        StepVerifier.create(employeeService.getAllEmployees().count()).expectNext(2L).verifyComplete();
+
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void testSharesInFlightRequestBetweenConcurrentCallers() {
+        List<Long> counts = Mono.zip(
+                        employeeService.getAllEmployees().count(),
+                        employeeService.getAllEmployees().count(),
+                        (first, second) -> List.of(first, second))
+                .block();
+
+        assertEquals(List.of(2L, 2L), counts);
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    void testRetriesTooManyRequestsOnce() {
+        statuses.add(HttpStatus.TOO_MANY_REQUESTS);
+
+        StepVerifier.create(employeeService.getAllEmployees().count()).expectNext(2L).verifyComplete();
+        assertEquals(2, requests.get());
+    }
+
+    @Test
+    void testGivesUpAfterRetryAndDoesNotCacheFailure() {
+        statuses.add(HttpStatus.TOO_MANY_REQUESTS);
+        statuses.add(HttpStatus.TOO_MANY_REQUESTS);
+
+        StepVerifier.create(employeeService.getEmployeeStore())
+                .expectError(WebClientResponseException.TooManyRequests.class)
+                .verify();
+        StepVerifier.create(employeeService.getAllEmployees().count()).expectNext(2L).verifyComplete();
+        assertEquals(3, requests.get());
+    }
+
+    @Test
+    void testDoesNotRetryWhenBackoffExceedsDeadline() {
+        statuses.add(HttpStatus.TOO_MANY_REQUESTS);
+
+        StepVerifier.create(service(Duration.ofSeconds(30)).getEmployeeStore())
+                .expectError(WebClientResponseException.TooManyRequests.class)
+                .verify(Duration.ofSeconds(5));
+        assertEquals(1, requests.get());
+    }
+
+    private ReactiveEmployeeService service(Duration initialBackoff) {
+        return new ReactiveEmployeeService(
+                WebClient.builder()
+                        .exchangeFunction(request -> {
+                            requests.incrementAndGet();
+                            HttpStatus status = statuses.isEmpty() ? HttpStatus.OK : statuses.pop();
+                            return Mono.just(ClientResponse.create(status)
+                                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                                    .body(status == HttpStatus.OK ? LIST_BODY : "")
+                                    .build());
+                        })
+                        .build(),
+                initialBackoff,
+                Duration.ofSeconds(2),
+                100,
+                Duration.ofMinutes(5));
+    }
+}
@@ -0,0 +1,137 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.store.EmployeeStore;
+import com.reliaquest.api.utils.UpstreamBudget;
+import java.time.Duration;
+import java.time.Instant;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the employee caches populated ahead of user requests.
+ *
+ * <p>The employee snapshot is loaded once before the application reports ready; a stale snapshot restored from a
+ * checkpoint is revalidated instead, and keeps being served if that fails. From then on it is reloaded in the
+ * background shortly before it would expire or after a write evicted it, using only the share of the upstream request
+ * budget {@link UpstreamBudget} grants to background work. Every reload also refreshes the most frequently used
+ * {@code employeeById} entries from the same snapshot, so keeping hot ids warm costs no extra upstream requests.
+ *
+ * <p>{@code employee.prefetch.enabled} is checked when the prefetcher runs rather than whether the bean exists, so
+ * that it can still be switched off at startup in an AOT-processed build.
+ */
+@Slf4j
+@Component
+public class EmployeePrefetcher implements ApplicationRunner {
+
+    private final EmployeeService employeeService;
+    private final CacheManager cacheManager;
+    private final UpstreamBudget budget;
+    private final boolean enabled;
+    private final double budgetFraction;
+    private final Duration refreshAfter;
+    private final Duration yieldAfter;
+    private final int hotIds;
+
+    public EmployeePrefetcher(
+            EmployeeService employeeService,
+            CacheManager cacheManager,
+            UpstreamBudget budget,
+            @Value("${employee.prefetch.enabled:true}") boolean enabled,
+            @Value("${employee.prefetch.budget-fraction:0.25}") double budgetFraction,
+            @Value("${employee.prefetch.refresh-after:4m}") Duration refreshAfter,
+            @Value("${employee.prefetch.yield-after:1s}") Duration yieldAfter,
+            @Value("${employee.prefetch.hot-ids:100}") int hotIds) {
+        this.employeeService = employeeService;
+        this.cacheManager = cacheManager;
+        this.budget = budget;
+        this.enabled = enabled;
+        this.budgetFraction = budgetFraction;
+        this.refreshAfter = refreshAfter;
+        this.yieldAfter = yieldAfter;
+        this.hotIds = hotIds;
+    }
+
+    /*
+     * Runners complete before the application reports ready. A 429 here is not retried: waiting out the lockout would
+     * only delay startup, and the scheduled prefetch picks it up once the budget allows.
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        EmployeeStore cached = cachedStore();
+        if (cached != null && !cached.isStale()) {
+            return;
+        }
+        ResponseEntity<EmployeeStore> response = cached != null
+                ? budget.runInBackground(employeeService::refreshEmployeeStore)
+                : budget.runInBackground(employeeService::getEmployeeStore);
+        if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
+            populate(response.getBody());
+            log.info("Warmed employee caches with {} employees", response.getBody().size());
+        } else {
+            log.warn("Warming employee caches failed with {}, continuing cold", response.getStatusCode());
+        }
+    }
+
+    @Scheduled(
+            fixedDelayString = "${employee.prefetch.interval:PT5S}",
+            initialDelayString = "${employee.prefetch.interval:PT5S}")
+    public void prefetch() {
+        if (!enabled) {
+            return;
+        }
+        EmployeeStore store = cachedStore();
+        if (store != null && !store.isStale() && store.getFetchedAt().plus(refreshAfter).isAfter(Instant.now())) {
+            return;
+        }
+        if (!budget.tryAcquireBackground(budgetFraction, yieldAfter)) {
+            return;
+        }
+        ResponseEntity<EmployeeStore> response = budget.runInBackground(employeeService::refreshEmployeeStore);
+        if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
+            populate(response.getBody());
+            log.debug("Prefetched {} employees", response.getBody().size());
+        } else {
+            log.debug("Prefetching employees failed with {}", response.getStatusCode());
+        }
+    }
+
+    private EmployeeStore cachedStore() {
+        Cache cache = cacheManager.getCache("employeeStore");
+        Cache.ValueWrapper value = cache != null ? cache.get(SimpleKey.EMPTY) : null;
+        if (value != null && value.get() instanceof ResponseEntity<?> response
+                && response.getBody() instanceof EmployeeStore store) {
+            return store;
+        }
+        return null;
+    }
+
+    /*
+     * Hot ids missing from the snapshot are evicted rather than cached as 404s: they may have been created after the
+     * snapshot was taken.
+     */
+    private void populate(EmployeeStore store) {
+        if (cacheManager.getCache("employeeById") instanceof ResponseEntityCache byId) {
+            for (Object key : byId.hottestKeys(hotIds)) {
+                int row = store.indexOf(String.valueOf(key));
+                if (row >= 0) {
+                    byId.put(key, ResponseEntity.ok(store.get(row)));
+                } else {
+                    byId.evict(key);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.reliaquest.api.cache;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Cache for service methods returning {@link ResponseEntity}: successful responses are cached normally, 404 responses
+ * go to a separate short-lived negative cache, and any other error (429, 5xx) is never cached so the next call retries
+ * upstream. A failed refresh leaves a previously cached response in place.
+ */
+public class ResponseEntityCache implements Cache {
+
+    private final CaffeineCache entries;
+    private final CaffeineCache negativeEntries; // null when negative caching is disabled
+
+    public ResponseEntityCache(CaffeineCache entries, CaffeineCache negativeEntries) {
+        this.entries = entries;
+        this.negativeEntries = negativeEntries;
+    }
+
+    public CaffeineCache getEntries() {
+        return entries;
+    }
+
+    public CaffeineCache getNegativeEntries() {
+        return negativeEntries;
+    }
+
+    /**
+     * @return up to {@code limit} cached keys, those the eviction policy is most likely to retain first
+     */
+    public List<Object> hottestKeys(int limit) {
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> cache = entries.getNativeCache();
+        return cache.policy()
+                .eviction()
+                .map(eviction -> List.copyOf(eviction.hottest(limit).keySet()))
+                .orElseGet(() -> cache.asMap().keySet().stream().limit(limit).toList());
+    }
+
+    @Override
+    public String getName() {
+        return entries.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return entries.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper value = entries.get(key);
+        if (value == null && negativeEntries != null) {
+            value = negativeEntries.get(key);
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper value = get(key);
+        if (value == null) {
+            return null;
+        }
+        if (type != null && value.get() != null && !type.isInstance(value.get())) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value.get());
+        }
+        return (T) value.get();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper value = get(key);
+        if (value != null) {
+            return (T) value.get();
+        }
+        try {
+            T loaded = valueLoader.call();
+            put(key, loaded);
+            return loaded;
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (value instanceof ResponseEntity<?> response && !response.getStatusCode().is2xxSuccessful()) {
+            if (response.getStatusCode() == HttpStatus.NOT_FOUND) {
+                entries.evict(key);
+                if (negativeEntries != null) {
+                    negativeEntries.put(key, value);
+                }
+            }
+            return;
+        }
+        if (negativeEntries != null) {
+            negativeEntries.evict(key);
+        }
+        if (value != null) {
+            entries.put(key, value);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        entries.evict(key);
+        if (negativeEntries != null) {
+            negativeEntries.evict(key);
+        }
+    }
+
+    @Override
+    public void clear() {
+        entries.clear();
+        if (negativeEntries != null) {
+            negativeEntries.clear();
+        }
+    }
+}
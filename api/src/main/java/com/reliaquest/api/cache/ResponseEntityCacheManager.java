@@ -0,0 +1,102 @@
+package com.reliaquest.api.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.reliaquest.api.config.EmployeeCacheProperties;
+import com.reliaquest.api.store.EmployeeStore;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Creates a bounded {@link ResponseEntityCache} per cache name on first use, configured from
+ * {@link EmployeeCacheProperties}. Size-bounded caches use Caffeine's W-TinyLFU admission and eviction, so a flood of
+ * one-off lookups cannot push frequently used entries out.
+ */
+@Slf4j
+public class ResponseEntityCacheManager implements CacheManager {
+
+    private final EmployeeCacheProperties properties;
+    private final ConcurrentMap<String, ResponseEntityCache> caches = new ConcurrentHashMap<>();
+
+    public ResponseEntityCacheManager(EmployeeCacheProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    private ResponseEntityCache createCache(String name) {
+        EmployeeCacheProperties.Spec spec = properties.specFor(name);
+        log.info("Creating cache {} with {}", name, spec);
+
+        Caffeine<Object, Object> builder = Caffeine.newBuilder();
+        if (spec.getMaximumWeight() != null) {
+            long maximumWeight = spec.getMaximumWeight();
+            // An entry heavier than the whole cache is evicted as soon as it is put, which silently turns the cache off.
+            AtomicBoolean warned = new AtomicBoolean();
+            builder.maximumWeight(maximumWeight).weigher((key, value) -> {
+                int weight = weightOf(value);
+                if (weight > maximumWeight && warned.compareAndSet(false, true)) {
+                    log.warn(
+                            "Cache {} got an entry of {} employees, above its maximum-weight of {}; such entries are "
+                                    + "evicted right away and every read goes upstream",
+                            name,
+                            weight,
+                            maximumWeight);
+                }
+                return weight;
+            });
+        } else if (spec.getMaximumSize() != null) {
+            builder.maximumSize(spec.getMaximumSize());
+        }
+        if (spec.getExpireAfterWrite() != null) {
+            builder.expireAfterWrite(spec.getExpireAfterWrite());
+        }
+        if (spec.getExpireAfterAccess() != null) {
+            builder.expireAfterAccess(spec.getExpireAfterAccess());
+        }
+        if (Boolean.TRUE.equals(spec.getRecordStats())) {
+            builder.recordStats();
+        }
+        CaffeineCache entries = new CaffeineCache(name, builder.build(), false);
+
+        CaffeineCache negativeEntries = null;
+        if (spec.getNegativeTtl() != null && !spec.getNegativeTtl().isZero()) {
+            Caffeine<Object, Object> negativeBuilder =
+                    Caffeine.newBuilder().expireAfterWrite(spec.getNegativeTtl());
+            if (spec.getMaximumSize() != null) {
+                negativeBuilder.maximumSize(spec.getMaximumSize());
+            }
+            if (Boolean.TRUE.equals(spec.getRecordStats())) {
+                negativeBuilder.recordStats();
+            }
+            negativeEntries = new CaffeineCache(name, negativeBuilder.build(), false);
+        }
+        return new ResponseEntityCache(entries, negativeEntries);
+    }
+
+    /*
+     * Weight is the number of employees an entry holds, so maximumWeight bounds memory rather than entry count.
+     */
+    static int weightOf(Object value) {
+        Object body = value instanceof ResponseEntity<?> response ? response.getBody() : value;
+        if (body instanceof EmployeeStore store) {
+            return Math.max(1, store.size());
+        }
+        return 1;
+    }
+}
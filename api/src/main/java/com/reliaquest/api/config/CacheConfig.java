@@ -0,0 +1,17 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.cache.ResponseEntityCacheManager;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(EmployeeCacheProperties.class)
+public class CacheConfig {
+
+    @Bean
+    public CacheManager cacheManager(EmployeeCacheProperties properties) {
+        return new ResponseEntityCacheManager(properties);
+    }
+}
@@ -0,0 +1,49 @@
+package com.reliaquest.api.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Per-cache sizing and expiry, bound from {@code employee.cache}. Settings missing for a cache name are taken from
+ * {@code defaults}.
+ */
+@Data
+@ConfigurationProperties("employee.cache")
+public class EmployeeCacheProperties {
+
+    private Spec defaults = new Spec(10_000L, null, Duration.ofMinutes(5), null, null, true);
+
+    private Map<String, Spec> caches = new HashMap<>();
+
+    public Spec specFor(String name) {
+        Spec spec = caches.get(name);
+        return spec == null ? defaults : spec.withDefaults(defaults);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Spec {
+        private Long maximumSize; // number of entries; ignored when maximumWeight is set
+        private Long maximumWeight; // employees held across all entries
+        private Duration expireAfterWrite;
+        private Duration expireAfterAccess;
+        private Duration negativeTtl; // how long 404 responses are cached, disabled when unset
+        private Boolean recordStats;
+
+        Spec withDefaults(Spec defaults) {
+            return new Spec(
+                    maximumSize != null ? maximumSize : defaults.maximumSize,
+                    maximumWeight != null ? maximumWeight : defaults.maximumWeight,
+                    expireAfterWrite != null ? expireAfterWrite : defaults.expireAfterWrite,
+                    expireAfterAccess != null ? expireAfterAccess : defaults.expireAfterAccess,
+                    negativeTtl != null ? negativeTtl : defaults.negativeTtl,
+                    recordStats != null ? recordStats : defaults.recordStats);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.reliaquest.api.controller;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.reliaquest.api.cache.ResponseEntityCache;
+import com.reliaquest.api.entity.CacheStatistics;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/caches")
+@Tag(name = "Caches", description = "Cache statistics of the Employee API")
+public class CacheController {
+
+    private final CacheManager cacheManager;
+
+    public CacheController(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @GetMapping
+    @Operation(summary = "Returns cache statistics", description = "Returns size, hit, miss and eviction counts of every cache")
+    @ApiResponse(responseCode = "200", description = "Statistics of every cache")
+    public ResponseEntity<List<CacheStatistics>> getCacheStatistics() {
+        List<CacheStatistics> statistics = new ArrayList<>();
+        for (String name : cacheManager.getCacheNames()) {
+            if (cacheManager.getCache(name) instanceof ResponseEntityCache cache) {
+                CacheStats stats = cache.getEntries().getNativeCache().stats();
+                CaffeineCache negative = cache.getNegativeEntries();
+                statistics.add(new CacheStatistics(
+                        name,
+                        cache.getEntries().getNativeCache().estimatedSize(),
+                        stats.hitCount(),
+                        stats.missCount(),
+                        stats.hitRate(),
+                        stats.evictionCount(),
+                        negative != null ? negative.getNativeCache().estimatedSize() : 0,
+                        negative != null ? negative.getNativeCache().stats().hitCount() : 0));
+            }
+        }
+        return ResponseEntity.ok(statistics);
+    }
+}
@@ -2,8 +2,21 @@ package com.reliaquest.api.controller;
 
 import com.reliaquest.api.entity.CreateEmployeeRequest;
 import com.reliaquest.api.entity.Employee;
+import com.reliaquest.api.entity.EmployeeLookup;
+import com.reliaquest.api.entity.PendingCreate;
+import com.reliaquest.api.entity.SalaryGroup;
+import com.reliaquest.api.entity.SalaryStats;
+import com.reliaquest.api.search.EmployeeTypeahead;
+import com.reliaquest.api.service.EmployeeBatchLookup;
 import com.reliaquest.api.service.EmployeeService;
-import java.util.Comparator;
+import com.reliaquest.api.stats.Grouping;
+import com.reliaquest.api.stats.SalaryGroupAggregator;
+import com.reliaquest.api.stats.SalaryStatistics;
+import com.reliaquest.api.store.EmployeeStore;
+import com.reliaquest.api.writebehind.EmployeeWriteBehind;
+import java.io.IOException;
+import java.net.URI;
+import java.util.Arrays;
 import java.util.List;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -14,7 +27,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @Slf4j
@@ -24,9 +42,25 @@ import org.springframework.web.bind.annotation.RestController;
 public class EmployeeController implements IEmployeeController<Employee, CreateEmployeeRequest> {
 
     private final EmployeeService employeeService;
+    private final SalaryStatistics salaryStatistics;
+    private final SalaryGroupAggregator salaryGroupAggregator;
+    private final EmployeeBatchLookup employeeBatchLookup;
+    private final EmployeeTypeahead employeeTypeahead;
+    private final EmployeeWriteBehind employeeWriteBehind;
 
-    public EmployeeController(EmployeeService employeeService) {
+    public EmployeeController(
+            EmployeeService employeeService,
+            SalaryStatistics salaryStatistics,
+            SalaryGroupAggregator salaryGroupAggregator,
+            EmployeeBatchLookup employeeBatchLookup,
+            EmployeeTypeahead employeeTypeahead,
+            @Nullable EmployeeWriteBehind employeeWriteBehind) { // only present with employee.write-behind.enabled
         this.employeeService = employeeService;
+        this.salaryStatistics = salaryStatistics;
+        this.salaryGroupAggregator = salaryGroupAggregator;
+        this.employeeBatchLookup = employeeBatchLookup;
+        this.employeeTypeahead = employeeTypeahead;
+        this.employeeWriteBehind = employeeWriteBehind;
     }
 
     @Override
@@ -43,6 +77,30 @@ public class EmployeeController implements IEmployeeController<Employee, CreateE
         return employeeService.getEmployeeById(id);
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Returns employees with the given IDs", description = "Looks up up to 1000 employees by id and returns one result per distinct id, in request order, each with its own status. Ids that cannot be resolved do not fail the whole request")
+    @ApiResponse(responseCode = "200", description = "Lookup result per employee ID")
+    public ResponseEntity<List<EmployeeLookup>> getEmployeesByIds(
+            @org.springframework.web.bind.annotation.RequestBody List<String> ids) {
+        if (ids == null || ids.isEmpty() || ids.size() > 1000) {
+            log.error("Invalid batch of {} ids", ids == null ? 0 : ids.size());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        }
+        if (ids.stream().anyMatch(id -> id == null || id.isBlank())) {
+            log.error("Invalid batch containing null or blank ids");
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        }
+        try {
+            List<EmployeeLookup> lookups = employeeBatchLookup.lookup(ids);
+            logSuccess();
+            return ResponseEntity.ok(lookups);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.error(e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
     @Override
     @Operation(summary = "Returns all employees having or containing the given name", description = "Returns a list of all employees whose name contains or matches the string input provided")
     @ApiResponse(responseCode = "200", description = "List of employees matching or containing the given name retrieved successfully")
@@ -70,21 +128,38 @@ public class EmployeeController implements IEmployeeController<Employee, CreateE
         }
     }
 
+    @GetMapping("/typeahead")
+    @Operation(summary = "Returns name completions", description = "Returns employees with a name word starting with each word of the prefix, highest salary first. Intended for search-as-you-type")
+    @ApiResponse(responseCode = "200", description = "Employees matching the prefix, highest salary first")
+    public ResponseEntity<List<Employee>> getTypeaheadSuggestions(
+            @RequestParam String prefix, @RequestParam(defaultValue = "10") int limit) {
+        if (!employeeTypeahead.isInitialized()) {
+            ResponseEntity<EmployeeStore> response = employeeService.getEmployeeStore();
+            if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
+                logWithStatusCode(response.getStatusCode());
+                return ResponseEntity.status(response.getStatusCode()).body(null);
+            }
+            if (!employeeTypeahead.isInitialized()) {
+                employeeTypeahead.rebuild(response.getBody());
+            }
+        }
+        return ResponseEntity.ok(employeeTypeahead.suggest(prefix, Math.min(Math.max(limit, 0), 100)));
+    }
+
     @Override
     @Operation(summary = "Returns highest salary amount", description = "Salary Value of the highest salary")
     @ApiResponse(responseCode = "200", description = "Highest Salary Amount")
     public ResponseEntity<Integer> getHighestSalaryOfEmployees() {
-        ResponseEntity<List<Employee>> response = employeeService.getAllEmployees();
+        ResponseEntity<EmployeeStore> response = employeeService.getEmployeeStore();
 
         if (response.getStatusCode() == HttpStatus.OK) {
-            List<Employee> employees = response.getBody();
+            EmployeeStore store = response.getBody();
 
-            if (employees == null) {
+            if (store == null) {
                 logEmployeesNotFound();
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(0);
             }
-            Integer max = (int)
-                    employees.stream().mapToDouble(Employee::getSalary).max().orElse(0);
+            Integer max = (int) store.maxSalary();
 
             logSuccess();
             return ResponseEntity.ok(max);
@@ -98,18 +173,16 @@ public class EmployeeController implements IEmployeeController<Employee, CreateE
     @Operation(summary = "Returns names of top 10 employees with the highest salary", description = "Returns names of top 10 employees with the highest salary")
     @ApiResponse(responseCode = "200", description = "Returns names of top 10 employees with the highest salary")
     public ResponseEntity<List<String>> getTopTenHighestEarningEmployeeNames() {
-        ResponseEntity<List<Employee>> response = employeeService.getAllEmployees();
+        ResponseEntity<EmployeeStore> response = employeeService.getEmployeeStore();
 
         if (response.getStatusCode() == HttpStatus.OK) {
-            List<Employee> employees = response.getBody();
-            if (employees == null) {
+            EmployeeStore store = response.getBody();
+            if (store == null) {
                 logEmployeesNotFound();
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
             }
-            List<String> topTenNames = employees.stream()
-                    .sorted(Comparator.comparingDouble(Employee::getSalary).reversed())
-                    .limit(10)
-                    .map(Employee::getName)
+            List<String> topTenNames = Arrays.stream(store.topBySalary(10))
+                    .mapToObj(store::name)
                     .toList();
 
             if (topTenNames.isEmpty()) {
@@ -123,9 +196,69 @@ public class EmployeeController implements IEmployeeController<Employee, CreateE
         }
     }
 
+    @GetMapping("/salaryStats")
+    @Operation(summary = "Returns salary statistics", description = "Returns count, mean, standard deviation, percentiles and a histogram of salaries. Min, max, percentiles and histogram edges are estimates within the reported relative error")
+    @ApiResponse(responseCode = "200", description = "Salary statistics")
+    public ResponseEntity<SalaryStats> getSalaryStatistics(
+            @RequestParam(defaultValue = "50,90,95,99,99.9") double[] percentiles,
+            @RequestParam(defaultValue = "10") int buckets) {
+        for (double percentile : percentiles) {
+            // Written so that NaN fails the check too.
+            if (!(percentile >= 0 && percentile <= 100)) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+            }
+        }
+        if (!salaryStatistics.isInitialized()) {
+            ResponseEntity<EmployeeStore> response = employeeService.getEmployeeStore();
+            if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
+                logWithStatusCode(response.getStatusCode());
+                return ResponseEntity.status(response.getStatusCode()).body(null);
+            }
+            if (!salaryStatistics.isInitialized()) {
+                salaryStatistics.rebuild(response.getBody());
+            }
+        }
+        SalaryStats stats = salaryStatistics.snapshot(percentiles, Math.min(Math.max(buckets, 0), 1000));
+        logSuccess();
+        return ResponseEntity.ok(stats);
+    }
+
+    @GetMapping("/salaryGroups")
+    @Operation(summary = "Returns salary aggregates per group", description = "Groups employees by title or age band and returns count, sum, min, max and average salary plus the top earners of each group")
+    @ApiResponse(responseCode = "200", description = "Salary aggregates per group")
+    public ResponseEntity<List<SalaryGroup>> getSalaryGroups(
+            @RequestParam(defaultValue = "title") String groupBy,
+            @RequestParam(defaultValue = "10") int ageBandWidth,
+            @RequestParam(defaultValue = "3") int top) {
+        if (!"title".equals(groupBy) && !"ageBand".equals(groupBy) || ageBandWidth <= 0 || top < 0) {
+            log.error("Invalid grouping groupBy={} ageBandWidth={} top={}", groupBy, ageBandWidth, top);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        }
+        ResponseEntity<EmployeeStore> response = employeeService.getEmployeeStore();
+
+        if (response.getStatusCode() == HttpStatus.OK) {
+            EmployeeStore store = response.getBody();
+            if (store == null) {
+                logEmployeesNotFound();
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+            }
+            Grouping grouping = "title".equals(groupBy)
+                    ? Grouping.byTitle(store)
+                    : Grouping.byAgeBand(store, ageBandWidth);
+            List<SalaryGroup> groups = salaryGroupAggregator.aggregate(store, grouping, Math.min(top, 100));
+
+            logSuccess();
+            return ResponseEntity.ok(groups);
+        } else {
+            logWithStatusCode(response.getStatusCode());
+            return ResponseEntity.status(response.getStatusCode()).body(null);
+        }
+    }
+
     @Override
-    @Operation(summary = "Create a new employee", description = "Adds a new employee to the system")
+    @Operation(summary = "Create a new employee", description = "Adds a new employee to the system. With write-behind enabled the create is queued and acknowledged with 202 and a Location header to track it")
     @ApiResponse(responseCode = "200", description = "Creates a new Employee")
+    @ApiResponse(responseCode = "202", description = "Create queued; its progress is at the Location header")
     @RequestBody(description = "Details of employee to be created with json keys - name, salary, age, title")
     public ResponseEntity<Employee> createEmployee(CreateEmployeeRequest employeeInput) {
         CreateEmployeeRequest employeeRequest = new CreateEmployeeRequest(
@@ -133,29 +266,64 @@ public class EmployeeController implements IEmployeeController<Employee, CreateE
                 employeeInput.getEmployee_salary(),
                 employeeInput.getEmployee_age(),
                 employeeInput.getEmployee_title());
+        if (employeeWriteBehind != null) {
+            return enqueueEmployee(employeeRequest);
+        }
         return employeeService.createEmployee(employeeRequest);
     }
 
+    /*
+     * The interface fixes the body type, so the accepted employee is echoed back without an id; the tracking id is in
+     * the Location header.
+     */
+    private ResponseEntity<Employee> enqueueEmployee(CreateEmployeeRequest employeeRequest) {
+        try {
+            PendingCreate pending = employeeWriteBehind.enqueue(employeeRequest);
+            Employee accepted = new Employee(
+                    null,
+                    employeeRequest.getEmployee_name(),
+                    employeeRequest.getEmployee_salary(),
+                    employeeRequest.getEmployee_age(),
+                    employeeRequest.getEmployee_title(),
+                    null);
+            logSuccess();
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/employees/pending/" + pending.getId()))
+                    .body(accepted);
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid employee: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        } catch (IllegalStateException e) {
+            log.error(e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(null);
+        } catch (IOException e) {
+            log.error("Failed to queue employee: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    @GetMapping("/pending/{id}")
+    @Operation(summary = "Returns the progress of a queued create", description = "Returns the state, queue position, attempts and, once created, the employee of a create accepted with 202")
+    @ApiResponse(responseCode = "200", description = "Progress of the queued create")
+    public ResponseEntity<PendingCreate> getPendingCreate(@PathVariable String id) {
+        PendingCreate pending = employeeWriteBehind != null ? employeeWriteBehind.getStatus(id) : null;
+        if (pending == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+        }
+        return ResponseEntity.ok(pending);
+    }
+
     @Override
     @Operation(summary = "Deletes employee with given employee_id", description = "Deletes employee with given employee_id")
     @ApiResponse(responseCode = "200", description = "Deletes employee with the given employee id")
     public ResponseEntity<String> deleteEmployeeById(String id) {
-        ResponseEntity<Employee> response = employeeService.getEmployeeById(id);
-        if (response.getStatusCode() == HttpStatus.OK) {
-            Employee employee = response.getBody();
-            if (employee == null) {
-                logEmployeesNotFound();
-                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
-            }
-            ResponseEntity<Boolean> responseEntity = employeeService.deleteEmployeeByName(employee.getName());
-
-            if (responseEntity.getStatusCode() == HttpStatus.OK && responseEntity.getBody() == Boolean.TRUE) {
-                logSuccess();
-                return ResponseEntity.ok(employee.getName());
-            } else {
-                logWithStatusCode(responseEntity.getStatusCode());
-                return ResponseEntity.status(responseEntity.getStatusCode()).body(null);
-            }
+        ResponseEntity<Employee> response = employeeService.deleteEmployee(id);
+        if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
+            logSuccess();
+            return ResponseEntity.ok(response.getBody().getName());
+        } else if (response.getStatusCode() == HttpStatus.NOT_FOUND) {
+            logEmployeesNotFound();
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
         } else {
             logWithStatusCode(response.getStatusCode());
             return ResponseEntity.status(response.getStatusCode()).body(null);
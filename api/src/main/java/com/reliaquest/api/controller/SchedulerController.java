@@ -0,0 +1,31 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.entity.SchedulerStatistics;
+import com.reliaquest.api.utils.UpstreamScheduler;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.List;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/scheduler")
+@Tag(name = "Scheduler", description = "Upstream request scheduling statistics of the Employee API")
+public class SchedulerController {
+
+    private final UpstreamScheduler upstreamScheduler;
+
+    public SchedulerController(UpstreamScheduler upstreamScheduler) {
+        this.upstreamScheduler = upstreamScheduler;
+    }
+
+    @GetMapping
+    @Operation(summary = "Returns upstream scheduling statistics", description = "Returns deadline, queue depth, dispatched and shed counts and wait times of every upstream request priority")
+    @ApiResponse(responseCode = "200", description = "Statistics of every priority, highest first")
+    public ResponseEntity<List<SchedulerStatistics>> getSchedulerStatistics() {
+        return ResponseEntity.ok(upstreamScheduler.getStatistics());
+    }
+}
@@ -0,0 +1,20 @@
+package com.reliaquest.api.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatistics {
+
+    private String name;
+    private long size; // estimated number of cached entries
+    private long hitCount;
+    private long missCount;
+    private double hitRate;
+    private long evictionCount;
+    private long negativeSize; // cached 404 responses
+    private long negativeHitCount;
+}
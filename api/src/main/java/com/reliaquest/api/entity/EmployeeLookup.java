@@ -0,0 +1,15 @@
+package com.reliaquest.api.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeLookup {
+
+    private String id;
+    private int status; // HTTP status of this id's lookup: 200, 404, or the upstream error that prevented it
+    private Employee employee; // null unless status is 200
+}
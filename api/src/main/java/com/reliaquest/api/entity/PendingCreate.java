@@ -0,0 +1,28 @@
+package com.reliaquest.api.entity;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.time.Instant;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PendingCreate {
+
+    private String id; // Tracking id handed out when the create was accepted
+    private State state;
+    private Integer position; // Creates ahead of this one in the queue, while QUEUED
+    private int attempts; // Upstream requests made for this create so far
+    private Integer status; // HTTP status of the latest upstream attempt
+    private Instant enqueuedAt;
+    private Employee employee; // The created employee, once CREATED
+
+    public enum State {
+        QUEUED,
+        CREATED,
+        FAILED
+    }
+}
@@ -0,0 +1,20 @@
+package com.reliaquest.api.entity;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalaryGroup {
+
+    private String group; // title or age band, e.g. "30-39"
+    private long count;
+    private double sum;
+    private double min;
+    private double max;
+    private double average;
+    private List<Employee> topEarners; // highest salary first
+}
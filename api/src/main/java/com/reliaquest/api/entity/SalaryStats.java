@@ -0,0 +1,31 @@
+package com.reliaquest.api.entity;
+
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SalaryStats {
+
+    private long count;
+    private double mean;
+    private double standardDeviation; // population standard deviation
+    private double min;
+    private double max;
+    private Map<String, Double> percentiles; // keyed by percentile, e.g. "p99.9"
+    private List<Bucket> histogram;
+    private double relativeError; // bound on the relative error of min, max, percentiles and bucket edges
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Bucket {
+        private double lowerBound;
+        private double upperBound;
+        private long count;
+    }
+}
@@ -0,0 +1,21 @@
+package com.reliaquest.api.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchedulerStatistics {
+
+    private String priority;
+    private long deadlineMillis;
+    private int queued; // requests waiting for the upstream budget right now
+    private int peakQueued;
+    private long dispatched;
+    private long shed; // requests dropped at their deadline instead of being sent
+    private double meanWaitMillis; // time queued before being dispatched, over all dispatched requests
+    private double p99WaitMillis; // over the latest 1024 dispatched requests
+    private double maxWaitMillis;
+}
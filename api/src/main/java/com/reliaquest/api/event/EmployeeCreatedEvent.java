@@ -0,0 +1,8 @@
+package com.reliaquest.api.event;
+
+import com.reliaquest.api.entity.Employee;
+
+/**
+ * Published after an employee has been created upstream.
+ */
+public record EmployeeCreatedEvent(Employee employee) {}
@@ -0,0 +1,8 @@
+package com.reliaquest.api.event;
+
+import com.reliaquest.api.entity.Employee;
+
+/**
+ * Published after an employee has been deleted upstream.
+ */
+public record EmployeeDeletedEvent(Employee employee) {}
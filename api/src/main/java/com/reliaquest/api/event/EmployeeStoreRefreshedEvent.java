@@ -0,0 +1,9 @@
+package com.reliaquest.api.event;
+
+import com.reliaquest.api.store.EmployeeStore;
+
+/**
+ * Published whenever a new {@link EmployeeStore} snapshot has been loaded from upstream, so derived structures can be
+ * rebuilt from it.
+ */
+public record EmployeeStoreRefreshedEvent(EmployeeStore store) {}
@@ -0,0 +1,161 @@
+package com.reliaquest.api.search;
+
+import com.reliaquest.api.entity.Employee;
+import com.reliaquest.api.event.EmployeeCreatedEvent;
+import com.reliaquest.api.event.EmployeeDeletedEvent;
+import com.reliaquest.api.event.EmployeeStoreRefreshedEvent;
+import com.reliaquest.api.store.EmployeeStore;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Name completions ranked by salary, for search-as-you-type.
+ *
+ * <p>Rebuilt from every refreshed {@link EmployeeStore} and updated in place on creates and deletes. A single-word
+ * query is answered from the cached best completions of one {@link NameTrie} node, in time independent of the number
+ * of employees. Every word of a multi-word query must prefix a different word of the name; those are answered by
+ * scanning the completions of the rarest word.
+ */
+@Slf4j
+@Component
+public class EmployeeTypeahead {
+
+    private final int cacheSize;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private NameTrie trie;
+
+    public EmployeeTypeahead(@Value("${employee.typeahead.cache-size:10}") int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    public boolean isInitialized() {
+        lock.readLock().lock();
+        try {
+            return trie != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onStoreRefreshed(EmployeeStoreRefreshedEvent event) {
+        rebuild(event.store());
+    }
+
+    @EventListener
+    public void onEmployeeCreated(EmployeeCreatedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (trie != null) {
+                trie.add(event.employee());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onEmployeeDeleted(EmployeeDeletedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (trie != null) {
+                trie.remove(event.employee());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void rebuild(EmployeeStore store) {
+        NameTrie rebuilt = new NameTrie(cacheSize);
+        for (int row = 0; row < store.size(); row++) {
+            rebuilt.add(store.get(row));
+        }
+
+        lock.writeLock().lock();
+        try {
+            trie = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.debug("Rebuilt typeahead index from {} employees", store.size());
+    }
+
+    /**
+     * @return up to {@code limit} employees whose name matches {@code query}, highest salary first; empty when no
+     * snapshot has been loaded yet
+     */
+    public List<Employee> suggest(String query, int limit) {
+        List<String> words = NameTrie.tokens(query);
+        if (words.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            if (trie == null) {
+                return List.of();
+            }
+            NameTrie.Node rarest = null;
+            for (String word : words) {
+                NameTrie.Node node = trie.find(word);
+                if (node == null) {
+                    return List.of();
+                }
+                if (rarest == null || node.size() < rarest.size()) {
+                    rarest = node;
+                }
+            }
+            if (words.size() == 1 && limit <= trie.cacheSize()) {
+                return List.copyOf(rarest.top(limit));
+            }
+            return scan(rarest, words, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static List<Employee> scan(NameTrie.Node node, List<String> words, int limit) {
+        Map<String, Employee> candidates = new HashMap<>();
+        NameTrie.forEach(node, employee -> candidates.putIfAbsent(employee.getId(), employee));
+        List<Employee> matches = new ArrayList<>();
+        for (Employee employee : candidates.values()) {
+            if (matchesAll(NameTrie.tokens(employee.getName()), words)) {
+                matches.add(employee);
+            }
+        }
+        matches.sort(NameTrie.RANKING);
+        return List.copyOf(matches.subList(0, Math.min(limit, matches.size())));
+    }
+
+    /*
+     * Greedy assignment of query words to distinct name tokens; longer query words are placed first, since they can
+     * match fewer tokens.
+     */
+    private static boolean matchesAll(List<String> tokens, List<String> words) {
+        List<String> remaining = new ArrayList<>(tokens);
+        List<String> ordered = new ArrayList<>(words);
+        ordered.sort((a, b) -> b.length() - a.length());
+        for (String word : ordered) {
+            int match = -1;
+            for (int i = 0; i < remaining.size() && match < 0; i++) {
+                if (remaining.get(i).startsWith(word)) {
+                    match = i;
+                }
+            }
+            if (match < 0) {
+                return false;
+            }
+            remaining.remove(match);
+        }
+        return true;
+    }
+}
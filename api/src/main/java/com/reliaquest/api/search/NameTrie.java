@@ -0,0 +1,316 @@
+package com.reliaquest.api.search;
+
+import com.reliaquest.api.entity.Employee;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Radix trie over normalized name tokens. Every node caches the highest-paid employees in its subtree, so the best
+ * completions of a prefix are read off the node the prefix ends in without visiting the rest of the subtree.
+ *
+ * <p>Edges carry whole label strings and nodes with a single child and no employees of their own are merged away, so
+ * the trie has at most twice as many nodes as distinct tokens. Not thread-safe.
+ */
+final class NameTrie {
+
+    static final Comparator<Employee> RANKING = Comparator.comparingDouble(Employee::getSalary)
+            .reversed()
+            .thenComparing(Employee::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Employee[] NO_EMPLOYEES = new Employee[0];
+
+    private final int cacheSize;
+    private final Node root = new Node("");
+
+    NameTrie(int cacheSize) {
+        this.cacheSize = cacheSize;
+    }
+
+    /**
+     * Splits {@code text} into lower-case tokens without diacritics, e.g. "Zo&euml; O'Brien" into zoe, o and brien.
+     */
+    static List<String> tokens(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        String folded = DIACRITICS
+                .matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : SEPARATORS.split(folded)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return List.copyOf(tokens);
+    }
+
+    int cacheSize() {
+        return cacheSize;
+    }
+
+    void add(Employee employee) {
+        for (String token : tokens(employee.getName())) {
+            insert(token, employee);
+        }
+    }
+
+    void remove(Employee employee) {
+        for (String token : tokens(employee.getName())) {
+            delete(token, employee);
+        }
+    }
+
+    /**
+     * @return the node whose subtree holds exactly the tokens starting with {@code prefix}, or null if there are none
+     */
+    Node find(String prefix) {
+        Node node = root;
+        int i = 0;
+        while (i < prefix.length()) {
+            Node child = node.child(prefix.charAt(i));
+            if (child == null) {
+                return null;
+            }
+            int common = commonPrefix(child.label, prefix, i);
+            if (i + common == prefix.length()) {
+                return child;
+            }
+            if (common < child.label.length()) {
+                return null;
+            }
+            node = child;
+            i += common;
+        }
+        return node;
+    }
+
+    private void insert(String token, Employee employee) {
+        Node node = root;
+        node.size++;
+        node.offer(employee, cacheSize);
+        int i = 0;
+        while (i < token.length()) {
+            Node child = node.child(token.charAt(i));
+            if (child == null) {
+                child = new Node(token.substring(i));
+                node.addChild(child);
+            } else {
+                int common = commonPrefix(child.label, token, i);
+                if (common < child.label.length()) {
+                    child = node.split(child, common);
+                }
+            }
+            i += child.label.length();
+            node = child;
+            node.size++;
+            node.offer(employee, cacheSize);
+        }
+        if (node.employees == null) {
+            node.employees = new ArrayList<>(1);
+        }
+        node.employees.add(employee);
+    }
+
+    private void delete(String token, Employee employee) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int i = 0;
+        while (i < token.length()) {
+            node = node.child(token.charAt(i));
+            if (node == null || !token.startsWith(node.label, i)) {
+                return;
+            }
+            i += node.label.length();
+            path.add(node);
+        }
+        if (node.employees == null || !node.employees.removeIf(other -> sameEmployee(other, employee))) {
+            return;
+        }
+        if (node.employees.isEmpty()) {
+            node.employees = null;
+        }
+
+        for (int k = path.size() - 1; k >= 0; k--) {
+            Node current = path.get(k);
+            current.size--;
+            if (k > 0 && current.size == 0) {
+                path.get(k - 1).removeChild(current);
+                continue;
+            }
+            if (current.ranks(employee)) {
+                current.recomputeTop(cacheSize);
+            }
+            if (k > 0 && current.employees == null && current.children.length == 1) {
+                current.absorbOnlyChild();
+            }
+        }
+    }
+
+    /**
+     * Visits every employee with a token in {@code node}'s subtree, once per matching token.
+     */
+    static void forEach(Node node, Consumer<Employee> action) {
+        if (node.employees != null) {
+            node.employees.forEach(action);
+        }
+        for (Node child : node.children) {
+            forEach(child, action);
+        }
+    }
+
+    private static int commonPrefix(String label, String text, int offset) {
+        int max = Math.min(label.length(), text.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == text.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static boolean sameEmployee(Employee a, Employee b) {
+        return Objects.equals(a.getId(), b.getId());
+    }
+
+    static final class Node {
+
+        private String label;
+        private Node[] children = NO_CHILDREN; // sorted by the first character of their label
+        private List<Employee> employees; // employees with a token ending exactly here, null if none
+        private Employee[] top = NO_EMPLOYEES; // best-ranked employees of the subtree, best first
+        private int size; // (employee, token) pairs in the subtree
+
+        private Node(String label) {
+            this.label = label;
+        }
+
+        int size() {
+            return size;
+        }
+
+        /**
+         * @return up to {@code limit} of the best-ranked employees in this subtree, best first
+         */
+        List<Employee> top(int limit) {
+            return Arrays.asList(top).subList(0, Math.min(limit, top.length));
+        }
+
+        private Node child(char first) {
+            int index = indexOf(first);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private int indexOf(char first) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char c = children[mid].label.charAt(0);
+                if (c < first) {
+                    low = mid + 1;
+                } else if (c > first) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        private void addChild(Node child) {
+            int insertion = -(indexOf(child.label.charAt(0)) + 1);
+            Node[] grown = new Node[children.length + 1];
+            System.arraycopy(children, 0, grown, 0, insertion);
+            grown[insertion] = child;
+            System.arraycopy(children, insertion, grown, insertion + 1, children.length - insertion);
+            children = grown;
+        }
+
+        private void removeChild(Node child) {
+            int index = indexOf(child.label.charAt(0));
+            Node[] shrunk = new Node[children.length - 1];
+            System.arraycopy(children, 0, shrunk, 0, index);
+            System.arraycopy(children, index + 1, shrunk, index, children.length - index - 1);
+            children = shrunk;
+        }
+
+        /*
+         * Splits the edge to child after its first length characters, returning the new intermediate node.
+         */
+        private Node split(Node child, int length) {
+            int index = indexOf(child.label.charAt(0));
+            Node middle = new Node(child.label.substring(0, length));
+            child.label = child.label.substring(length);
+            middle.children = new Node[] {child};
+            middle.top = child.top;
+            middle.size = child.size;
+            children[index] = middle;
+            return middle;
+        }
+
+        private void absorbOnlyChild() {
+            Node child = children[0];
+            label = label + child.label;
+            children = child.children;
+            employees = child.employees;
+            top = child.top;
+            size = child.size;
+        }
+
+        private boolean ranks(Employee employee) {
+            for (Employee ranked : top) {
+                if (sameEmployee(ranked, employee)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void offer(Employee employee, int cacheSize) {
+            if (ranks(employee)) {
+                return;
+            }
+            if (top.length == cacheSize && RANKING.compare(employee, top[top.length - 1]) >= 0) {
+                return;
+            }
+            int position = 0;
+            while (position < top.length && RANKING.compare(top[position], employee) < 0) {
+                position++;
+            }
+            Employee[] updated = new Employee[Math.min(top.length + 1, cacheSize)];
+            System.arraycopy(top, 0, updated, 0, position);
+            updated[position] = employee;
+            System.arraycopy(top, position, updated, position + 1, updated.length - position - 1);
+            top = updated;
+        }
+
+        /*
+         * The best employees of a subtree are among this node's own employees and the cached best of each child.
+         */
+        private void recomputeTop(int cacheSize) {
+            top = NO_EMPLOYEES;
+            if (employees != null) {
+                employees.forEach(employee -> offer(employee, cacheSize));
+            }
+            for (Node child : children) {
+                for (Employee employee : child.top) {
+                    offer(employee, cacheSize);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.entity.Employee;
+import com.reliaquest.api.entity.EmployeeLookup;
+import com.reliaquest.api.store.EmployeeStore;
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+/**
+ * Looks up many employees by id with as few upstream requests as possible.
+ *
+ * <p>Ids are answered from the cached employee snapshot's id index. Misses are resolved in one of two ways: when there
+ * are at least {@code refresh-threshold} of them, one reload of the snapshot answers all of them at once; fewer
+ * misses are looked up individually through the by-id cache, at most {@code concurrency} at a time. Ids missing from
+ * a snapshot loaded during this lookup are reported as 404 without further requests.
+ */
+@Slf4j
+@Service
+public class EmployeeBatchLookup {
+
+    private final EmployeeService employeeService;
+    private final int refreshThreshold;
+    private final ExecutorService executor;
+
+    public EmployeeBatchLookup(
+            EmployeeService employeeService,
+            @Value("${employee.batch.refresh-threshold:5}") int refreshThreshold,
+            @Value("${employee.batch.concurrency:4}") int concurrency) {
+        this.employeeService = employeeService;
+        this.refreshThreshold = refreshThreshold;
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(concurrency, task -> {
+            Thread thread = new Thread(task, "employee-batch-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @return one lookup per distinct id, in request order
+     */
+    public List<EmployeeLookup> lookup(List<String> ids) throws InterruptedException {
+        Map<String, EmployeeLookup> results = new LinkedHashMap<>();
+        for (String id : ids) {
+            results.putIfAbsent(id, null);
+        }
+        // Snapshots record their fetch time in milliseconds; one fetched within this millisecond is still fresh.
+        Instant started = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
+        ResponseEntity<EmployeeStore> response = employeeService.getEmployeeStore();
+        List<String> misses = resolve(response, results);
+        if (misses.isEmpty()) {
+            return new ArrayList<>(results.values());
+        }
+
+        if (isLoadedSince(response, started)) {
+            notFound(misses, results);
+        } else if (misses.size() >= refreshThreshold) {
+            if (response.getStatusCode() == HttpStatus.OK) {
+                response = employeeService.refreshEmployeeStore();
+                misses = resolve(response, results);
+            }
+            if (response.getStatusCode() == HttpStatus.OK) {
+                notFound(misses, results);
+            } else {
+                failed(misses, response.getStatusCode(), results);
+            }
+        } else {
+            fanOut(misses, results);
+        }
+        return new ArrayList<>(results.values());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /*
+     * Fills in every id found in the snapshot and returns the ones that are still unresolved.
+     */
+    private List<String> resolve(ResponseEntity<EmployeeStore> response, Map<String, EmployeeLookup> results) {
+        EmployeeStore store = response.getStatusCode() == HttpStatus.OK ? response.getBody() : null;
+        List<String> misses = new ArrayList<>();
+        for (Map.Entry<String, EmployeeLookup> entry : results.entrySet()) {
+            if (entry.getValue() != null) {
+                continue;
+            }
+            int row = store != null ? store.indexOf(entry.getKey()) : -1;
+            if (row >= 0) {
+                entry.setValue(new EmployeeLookup(entry.getKey(), HttpStatus.OK.value(), store.get(row)));
+            } else {
+                misses.add(entry.getKey());
+            }
+        }
+        return misses;
+    }
+
+    private static boolean isLoadedSince(ResponseEntity<EmployeeStore> response, Instant started) {
+        EmployeeStore store = response.getBody();
+        return response.getStatusCode() == HttpStatus.OK
+                && store != null
+                && !store.isStale()
+                && !store.getFetchedAt().isBefore(started);
+    }
+
+    private void fanOut(List<String> misses, Map<String, EmployeeLookup> results) throws InterruptedException {
+        List<Future<ResponseEntity<Employee>>> futures = new ArrayList<>(misses.size());
+        for (String id : misses) {
+            futures.add(executor.submit(() -> employeeService.getEmployeeById(id)));
+        }
+        try {
+            for (int i = 0; i < misses.size(); i++) {
+                String id = misses.get(i);
+                try {
+                    ResponseEntity<Employee> response = futures.get(i).get();
+                    results.put(id, new EmployeeLookup(id, response.getStatusCode().value(), response.getBody()));
+                } catch (ExecutionException e) {
+                    log.error("Looking up employee {} failed: {}", id, e.getCause().getMessage());
+                    results.put(id, new EmployeeLookup(id, HttpStatus.INTERNAL_SERVER_ERROR.value(), null));
+                }
+            }
+        } catch (InterruptedException e) {
+            // Nobody is waiting for the rest anymore; don't let them hold the pool and the upstream budget.
+            for (Future<ResponseEntity<Employee>> future : futures) {
+                future.cancel(true);
+            }
+            throw e;
+        }
+    }
+
+    private static void notFound(List<String> misses, Map<String, EmployeeLookup> results) {
+        failed(misses, HttpStatus.NOT_FOUND, results);
+    }
+
+    private static void failed(List<String> misses, HttpStatusCode status, Map<String, EmployeeLookup> results) {
+        for (String id : misses) {
+            results.put(id, new EmployeeLookup(id, status.value(), null));
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.reliaquest.api.service;
 
 import com.reliaquest.api.entity.CreateEmployeeRequest;
 import com.reliaquest.api.entity.Employee;
+import com.reliaquest.api.store.EmployeeStore;
 import java.util.List;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -10,9 +11,22 @@ public interface EmployeeService {
 
     ResponseEntity<List<Employee>> getAllEmployees();
 
+    ResponseEntity<EmployeeStore> getEmployeeStore();
+
+    /**
+     * Reloads the employee snapshot from upstream and replaces the cached one. A failed reload leaves the cached
+     * snapshot in place.
+     */
+    ResponseEntity<EmployeeStore> refreshEmployeeStore();
+
     ResponseEntity<Employee> getEmployeeById(@PathVariable String id);
 
     ResponseEntity<Employee> createEmployee(@RequestBody CreateEmployeeRequest employeeInput);
 
-    ResponseEntity<Boolean> deleteEmployeeByName(@PathVariable String name);
+    /**
+     * Deletes the employee with the given id, normally in a single upstream request.
+     *
+     * @return the deleted employee, or the upstream status if it could not be deleted
+     */
+    ResponseEntity<Employee> deleteEmployee(String id);
 }
@@ -1,18 +1,35 @@
 package com.reliaquest.api.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.config.EmployeeCacheProperties;
 import com.reliaquest.api.entity.*;
+import com.reliaquest.api.event.EmployeeCreatedEvent;
+import com.reliaquest.api.event.EmployeeDeletedEvent;
+import com.reliaquest.api.event.EmployeeStoreRefreshedEvent;
+import com.reliaquest.api.shard.ShardRouter;
+import com.reliaquest.api.store.EmployeeStore;
 import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 
 import com.reliaquest.api.utils.RetryUtility;
+import com.reliaquest.api.utils.UpstreamShedException;
 import jakarta.validation.constraints.NotNull;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
@@ -22,33 +39,94 @@ import org.springframework.stereotype.Service;
 public class EmployeeServiceImpl implements EmployeeService {
 
     private final RetryUtility retryUtility;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ShardRouter shardRouter;
+    private final CacheManager cacheManager;
+    private final EmployeeCacheProperties cacheProperties;
 
-    public EmployeeServiceImpl(RetryUtility httpClientRetryUtil) {
+    public EmployeeServiceImpl(
+            RetryUtility httpClientRetryUtil,
+            ApplicationEventPublisher eventPublisher,
+            ShardRouter shardRouter,
+            CacheManager cacheManager,
+            EmployeeCacheProperties cacheProperties) {
         this.retryUtility = httpClientRetryUtil;
+        this.eventPublisher = eventPublisher;
+        this.shardRouter = shardRouter;
+        this.cacheManager = cacheManager;
+        this.cacheProperties = cacheProperties;
     }
 
     private final ObjectMapper mapper = new ObjectMapper();
-    String url = "http://localhost:8112/api/v1/employee";
 
+    @Value("${employee.api.delete-by-id:true}")
+    volatile boolean deleteByIdSupported = true;
+
+    /*
+     * Materialized from the cached employee store on every call rather than cached itself, so the roster is held once,
+     * in columnar form. A store fetched here is cached for the next getEmployeeStore().
+     */
     @Override
-    @Cacheable("employees")
     public ResponseEntity<List<Employee>> getAllEmployees() {
+        Cache storeCache = cacheManager.getCache("employeeStore");
+        Cache.ValueWrapper cached = storeCache != null ? storeCache.get(SimpleKey.EMPTY) : null;
+        ResponseEntity<?> response = cached != null ? (ResponseEntity<?>) cached.get() : null;
+        if (response == null) {
+            response = fetchEmployeeStore();
+            if (storeCache != null) {
+                storeCache.put(SimpleKey.EMPTY, response);
+            }
+        }
+        if (response.getStatusCode() == HttpStatus.OK && response.getBody() instanceof EmployeeStore store) {
+            return ResponseEntity.ok(store.toEmployees());
+        }
+        return ResponseEntity.status(response.getStatusCode()).body(null);
+    }
 
-        HttpRequest request =
-                HttpRequest.newBuilder().uri(URI.create(url)).GET().build();
+    @Override
+    @Cacheable("employeeStore")
+    public ResponseEntity<EmployeeStore> getEmployeeStore() {
+        return fetchEmployeeStore();
+    }
+
+    @Override
+    @CachePut("employeeStore")
+    public ResponseEntity<EmployeeStore> refreshEmployeeStore() {
+        return fetchEmployeeStore();
+    }
+
+    private ResponseEntity<EmployeeStore> fetchEmployeeStore() {
+        ResponseEntity<List<Employee>> response = fetchAllEmployees();
+        if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
+            EmployeeStore store = EmployeeStore.of(response.getBody());
+            eventPublisher.publishEvent(new EmployeeStoreRefreshedEvent(store));
+            return ResponseEntity.ok(store);
+        }
+        return ResponseEntity.status(response.getStatusCode()).body(null);
+    }
+
+    /*
+     * Gathers the full list from every shard in parallel. A single failing shard fails the whole list, since a partial
+     * list would silently skew every aggregate computed from it.
+     */
+    private ResponseEntity<List<Employee>> fetchAllEmployees() {
         try {
-            HttpResponse<String> response = retryUtility.sendRequestWithRetry(request, HttpResponse.BodyHandlers.ofString());
+            List<HttpResponse<String>> responses = shardRouter.scatter(shardUrl -> retryUtility.sendRequestWithRetry(
+                    HttpRequest.newBuilder().uri(URI.create(shardUrl)).GET().build(),
+                    HttpResponse.BodyHandlers.ofString()));
 
-            if (response.statusCode() == 200) {
+            List<Employee> employees = new ArrayList<>();
+            for (HttpResponse<String> response : responses) {
+                if (response.statusCode() != 200) {
+                    return ResponseEntity.status(HttpStatus.valueOf(response.statusCode()))
+                            .body(null);
+                }
                 ApiListReponse apiResponse = mapper.readValue(response.body(), ApiListReponse.class);
-                return ResponseEntity.ok(apiResponse.getData());
-            } else {
-                return ResponseEntity.status(HttpStatus.valueOf(response.statusCode()))
-                        .body(null);
+                employees.addAll(apiResponse.getData());
             }
+            return ResponseEntity.ok(employees);
         } catch (IOException | InterruptedException e) {
-            log.error(e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+            return failed(e);
         }
     }
 
@@ -56,32 +134,34 @@ public class EmployeeServiceImpl implements EmployeeService {
     @Cacheable(value = "employeeById", key = "#id")
     public ResponseEntity<Employee> getEmployeeById(String id) {
         HttpRequest request =
-                HttpRequest.newBuilder().uri(URI.create(url + "/" + id)).GET().build();
+                HttpRequest.newBuilder().uri(URI.create(shardRouter.urlFor(id) + "/" + id)).GET().build();
         try {
             return getEmployeeResponseEntity(request);
         } catch (IOException | InterruptedException e) {
-            log.error(e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+            return failed(e);
         }
     }
 
     @Override
-    @CacheEvict(value = "employees", allEntries = true)
+    @CacheEvict(value = "employeeStore", allEntries = true)
     public ResponseEntity<Employee> createEmployee(CreateEmployeeRequest employeeInput) {
 
         try {
             String json = mapper.writeValueAsString(employeeInput);
 
             HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(url))
+                    .uri(URI.create(shardRouter.urlForCreate()))
                     .header("Content-Type", "application/json")
                     .POST(HttpRequest.BodyPublishers.ofString(json))
                     .build();
 
-            return getEmployeeResponseEntity(request);
+            ResponseEntity<Employee> response = getEmployeeResponseEntity(request);
+            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
+                eventPublisher.publishEvent(new EmployeeCreatedEvent(response.getBody()));
+            }
+            return response;
         } catch (IOException | InterruptedException e) {
-            log.error(e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+            return failed(e);
         }
     }
 
@@ -97,30 +177,128 @@ public class EmployeeServiceImpl implements EmployeeService {
         }
     }
 
+    /*
+     * Deletes by id in a single upstream request, which also guarantees that exactly this employee is removed, and
+     * takes the deleted employee from the response. Mock servers without the by-id route answer 405; from then on
+     * deletes fall back to the by-name route, which first needs the name.
+     *
+     * The cached employee store is kept and only loses the deleted row, so consecutive deletes keep resolving ids from
+     * it without refetching the roster.
+     */
     @Override
-    @CacheEvict(value = "employees", allEntries = true)
-    public ResponseEntity<Boolean> deleteEmployeeByName(String name) {
-        DeleteEmployeeApiRequestInput input = new DeleteEmployeeApiRequestInput(name);
-
+    @CacheEvict(value = "employeeById", key = "#id")
+    public ResponseEntity<Employee> deleteEmployee(String id) {
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-            String requestBody = objectMapper.writeValueAsString(input);
+            if (deleteByIdSupported) {
+                HttpRequest request = HttpRequest.newBuilder()
+                        .uri(URI.create(shardRouter.urlFor(id) + "/" + id))
+                        .DELETE()
+                        .build();
+                ResponseEntity<Employee> response = getEmployeeResponseEntity(request);
+                if (response.getStatusCode() != HttpStatus.METHOD_NOT_ALLOWED) {
+                    if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
+                        removeFromEmployeeStore(response.getBody(), true);
+                        eventPublisher.publishEvent(new EmployeeDeletedEvent(response.getBody()));
+                    }
+                    return response;
+                }
+                log.warn("Upstream does not support delete by id, falling back to delete by name");
+                deleteByIdSupported = false;
+            }
+            return deleteEmployeeByName(id);
+        } catch (IOException | InterruptedException e) {
+            return failed(e);
+        }
+    }
 
-            HttpRequest request = HttpRequest.newBuilder()
-                    .uri(URI.create(url))
-                    .method("DELETE", HttpRequest.BodyPublishers.ofString(requestBody))
-                    .header("Content-Type", "application/json")
-                    .build();
+    /*
+     * Resolves the name from the employee store only if it is already cached, since loading it would fetch the whole
+     * roster; otherwise the employee is looked up by id.
+     */
+    private ResponseEntity<Employee> deleteEmployeeByName(String id) throws IOException, InterruptedException {
+        EmployeeStore store = cachedEmployeeStore();
+        int row = store != null ? store.indexOf(id) : -1;
+        ResponseEntity<Employee> found = row >= 0
+                ? ResponseEntity.ok(store.get(row))
+                : getEmployeeResponseEntity(
+                        HttpRequest.newBuilder().uri(URI.create(shardRouter.urlFor(id) + "/" + id)).GET().build());
+        Employee employee = found.getBody();
+        if (found.getStatusCode() != HttpStatus.OK || employee == null) {
+            return found;
+        }
 
-            HttpResponse<String> response = retryUtility.sendRequestWithRetry(request, HttpResponse.BodyHandlers.ofString());
-            if (response.statusCode() == HttpStatus.OK.value()) {
-                return new ResponseEntity<>(Boolean.TRUE, HttpStatus.valueOf(response.statusCode()));
-            } else {
-                return new ResponseEntity<>(Boolean.FALSE, HttpStatus.valueOf(response.statusCode()));
+        HttpResponse<String> response = sendDeleteByName(shardRouter.urlFor(id), employee.getName());
+        if (response.statusCode() != HttpStatus.OK.value()) {
+            return ResponseEntity.status(HttpStatus.valueOf(response.statusCode())).body(null);
+        }
+        removeFromEmployeeStore(employee, false);
+        eventPublisher.publishEvent(new EmployeeDeletedEvent(employee));
+        return ResponseEntity.ok(employee);
+    }
+
+    private EmployeeStore cachedEmployeeStore() {
+        Cache storeCache = cacheManager.getCache("employeeStore");
+        Cache.ValueWrapper cached = storeCache != null ? storeCache.get(SimpleKey.EMPTY) : null;
+        return cached != null && cached.get() instanceof ResponseEntity<?> response
+                ? (EmployeeStore) response.getBody()
+                : null;
+    }
+
+    /*
+     * Upstream deletes by name remove the first employee with that name, which need not be this one, so the store is
+     * only patched after a delete by id and evicted otherwise. Patching restarts the entry's expiry, so a store older
+     * than expire-after-write is evicted instead; a steady trickle of deletes must not keep the snapshot alive forever.
+     */
+    private void removeFromEmployeeStore(Employee employee, boolean deletedById) {
+        Cache storeCache = cacheManager.getCache("employeeStore");
+        if (storeCache == null) {
+            return;
+        }
+        synchronized (storeCache) {
+            EmployeeStore store = cachedEmployeeStore();
+            if (store == null) {
+                return;
             }
-        } catch (IOException | InterruptedException e) {
-            log.error(e.getMessage());
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+            Duration expireAfterWrite = cacheProperties.specFor("employeeStore").getExpireAfterWrite();
+            boolean expired = expireAfterWrite != null
+                    && store.getFetchedAt().plus(expireAfterWrite).isBefore(Instant.now());
+            if (!deletedById || expired) {
+                storeCache.evict(SimpleKey.EMPTY);
+                return;
+            }
+            int row = store.indexOf(employee.getId());
+            if (row >= 0) {
+                storeCache.put(SimpleKey.EMPTY, ResponseEntity.ok(store.without(row)));
+            }
+        }
+    }
+
+    /*
+     * Requests shed by the scheduler were never sent; 503 tells callers that trying again later may succeed. The
+     * Retry-After header says when, and also tells a shed request apart from a 503 answered by the upstream.
+     */
+    private static <T> ResponseEntity<T> failed(Exception e) {
+        if (e instanceof UpstreamShedException shed) {
+            log.warn(e.getMessage());
+            long retryAfterSeconds = Math.max(1, (shed.getRetryAfter().toMillis() + 999) / 1000);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                    .body(null);
         }
+        log.error(e.getMessage());
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+    }
+
+    private HttpResponse<String> sendDeleteByName(String url, String name) throws IOException, InterruptedException {
+        DeleteEmployeeApiRequestInput input = new DeleteEmployeeApiRequestInput(name);
+        String requestBody = mapper.writeValueAsString(input);
+
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .method("DELETE", HttpRequest.BodyPublishers.ofString(requestBody))
+                .header("Content-Type", "application/json")
+                .build();
+
+        return retryUtility.sendRequestWithRetry(request, HttpResponse.BodyHandlers.ofString());
     }
 }
@@ -0,0 +1,165 @@
+package com.reliaquest.api.shard;
+
+import com.reliaquest.api.utils.UpstreamBudget;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Routes upstream requests across a cluster of mock servers, each owning a shard of the employees.
+ *
+ * <p>Ids are mapped to shards with jump consistent hash (Lamping and Veach) over the UUID bits, the same function the
+ * mock server uses to decide which ids it owns. By-id requests go to the owning shard only; list requests are sent to
+ * every shard in parallel, one thread per shard, and gathered. Without {@code employee.api.shard-urls} there is a
+ * single shard at {@code employee.api.base-url}, and requests run on the calling thread as before. Each shard is rate
+ * limited on its own and {@link UpstreamBudget} tracks it separately.
+ */
+@Slf4j
+@Component
+public class ShardRouter {
+
+    private final List<String> urls;
+    private final UpstreamBudget budget;
+    private final ExecutorService executor; // null with a single shard
+    private final AtomicInteger nextCreateShard = new AtomicInteger();
+
+    public ShardRouter(
+            @Value("${employee.api.base-url:http://localhost:8112/api/v1/employee}") String baseUrl,
+            @Value("${employee.api.shard-urls:}") List<String> shardUrls,
+            UpstreamBudget budget) {
+        this.urls = shardUrls.isEmpty() ? List.of(baseUrl) : List.copyOf(shardUrls);
+        this.budget = budget;
+        if (urls.size() > 1) {
+            log.info("Routing upstream requests across {} shards: {}", urls.size(), urls);
+            AtomicInteger threads = new AtomicInteger();
+            this.executor = Executors.newFixedThreadPool(urls.size(), task -> {
+                Thread thread = new Thread(task, "shard-scatter-" + threads.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            this.executor = null;
+        }
+    }
+
+    /**
+     * A request against one shard's base url.
+     */
+    @FunctionalInterface
+    public interface ShardRequest<T> {
+        T send(String url) throws IOException, InterruptedException;
+    }
+
+    public int shardCount() {
+        return urls.size();
+    }
+
+    public List<String> urls() {
+        return urls;
+    }
+
+    /**
+     * @return the base url of the shard owning {@code id}; ids that are not UUIDs cannot be owned by any shard and are
+     * sent to the first one, which rejects them like a standalone server would
+     */
+    public String urlFor(String id) {
+        if (urls.size() == 1) {
+            return urls.get(0);
+        }
+        try {
+            return urls.get(shardOf(UUID.fromString(id), urls.size()));
+        } catch (IllegalArgumentException e) {
+            return urls.get(0);
+        }
+    }
+
+    /**
+     * @return the base url of the shard that should create the next employee, rotating through the shards and skipping
+     * those {@link UpstreamBudget} has no headroom for; if none has any, the next one in rotation
+     */
+    public String urlForCreate() {
+        return createUrlFrom(nextCreateShard.getAndIncrement());
+    }
+
+    /**
+     * @return the base url the next {@link #urlForCreate()} would return, without moving the rotation on
+     */
+    public String peekUrlForCreate() {
+        return createUrlFrom(nextCreateShard.get());
+    }
+
+    private String createUrlFrom(int start) {
+        for (int i = 0; i < urls.size(); i++) {
+            String url = urls.get(Math.floorMod(start + i, urls.size()));
+            if (budget.headroom(UpstreamBudget.upstreamOf(URI.create(url))) > 0) {
+                return url;
+            }
+        }
+        return urls.get(Math.floorMod(start, urls.size()));
+    }
+
+    /**
+     * Sends {@code request} to every shard in parallel and returns the results in shard order. Background requests
+     * stay background on the scatter threads.
+     */
+    public <T> List<T> scatter(ShardRequest<T> request) throws IOException, InterruptedException {
+        if (executor == null) {
+            return List.of(request.send(urls.get(0)));
+        }
+        List<Future<T>> futures = new ArrayList<>(urls.size());
+        for (String url : urls) {
+            futures.add(executor.submit(budget.inheritBackground(() -> request.send(url))));
+        }
+        List<T> results = new ArrayList<>(urls.size());
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException io) {
+                throw io;
+            }
+            if (cause instanceof InterruptedException interrupted) {
+                throw interrupted;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+        return results;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public static int shardOf(UUID id, int count) {
+        return jumpHash(id.getMostSignificantBits() ^ id.getLeastSignificantBits(), count);
+    }
+
+    private static int jumpHash(long key, int buckets) {
+        long bucket = -1;
+        long next = 0;
+        while (next < buckets) {
+            bucket = next;
+            key = key * 2862933555777941757L + 1;
+            next = (long) ((bucket + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) bucket;
+    }
+}
@@ -0,0 +1,69 @@
+package com.reliaquest.api.stats;
+
+import com.reliaquest.api.store.EmployeeStore;
+
+/**
+ * Maps store rows to dense group numbers in [0, groupCount()).
+ */
+public interface Grouping {
+
+    int groupOf(int row);
+
+    int groupCount();
+
+    String labelOf(int group);
+
+    /**
+     * Groups by title; employees without a title share the last group.
+     */
+    static Grouping byTitle(EmployeeStore store) {
+        int untitled = store.titleCount();
+        return new Grouping() {
+            @Override
+            public int groupOf(int row) {
+                int code = store.titleCode(row);
+                return code < 0 ? untitled : code;
+            }
+
+            @Override
+            public int groupCount() {
+                return untitled + 1;
+            }
+
+            @Override
+            public String labelOf(int group) {
+                return group == untitled ? null : store.titleForCode(group);
+            }
+        };
+    }
+
+    /**
+     * Groups by age bands of the given width, e.g. 20-29 and 30-39 for a width of 10.
+     */
+    static Grouping byAgeBand(EmployeeStore store, int width) {
+        if (width <= 0) {
+            throw new IllegalArgumentException("Age band width must be positive");
+        }
+        int maxAge = 0;
+        for (int row = 0; row < store.size(); row++) {
+            maxAge = Math.max(maxAge, store.age(row));
+        }
+        int bands = maxAge / width + 1;
+        return new Grouping() {
+            @Override
+            public int groupOf(int row) {
+                return Math.max(store.age(row), 0) / width;
+            }
+
+            @Override
+            public int groupCount() {
+                return bands;
+            }
+
+            @Override
+            public String labelOf(int group) {
+                return (group * width) + "-" + (group * width + width - 1);
+            }
+        };
+    }
+}
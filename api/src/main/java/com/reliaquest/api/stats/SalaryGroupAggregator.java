@@ -0,0 +1,227 @@
+package com.reliaquest.api.stats;
+
+import com.reliaquest.api.entity.Employee;
+import com.reliaquest.api.entity.SalaryGroup;
+import com.reliaquest.api.store.EmployeeStore;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import org.springframework.stereotype.Component;
+
+/**
+ * Group-by aggregation of salaries over an {@link EmployeeStore}, run as a fork-join parallel reduction.
+ *
+ * <p>Every leaf task scans a contiguous range of rows into its own primitive accumulators (count, sum, min, max and a
+ * bounded top-N heap of row numbers per group); partial results are merged pairwise as the tasks join. Nothing is
+ * boxed and no state is shared between threads while scanning.
+ */
+@Component
+public class SalaryGroupAggregator {
+
+    private static final int SEQUENTIAL_THRESHOLD = 1 << 14;
+
+    private final ForkJoinPool pool;
+
+    public SalaryGroupAggregator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public SalaryGroupAggregator(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * @return non-empty groups in group order, each with its {@code topN} highest earners
+     */
+    public List<SalaryGroup> aggregate(EmployeeStore store, Grouping grouping, int topN) {
+        Accumulator result = pool.invoke(new AggregationTask(store, grouping, Math.max(topN, 0), 0, store.size()));
+
+        List<SalaryGroup> groups = new ArrayList<>();
+        for (int group = 0; group < grouping.groupCount(); group++) {
+            if (result.counts[group] == 0) {
+                continue;
+            }
+            List<Employee> topEarners = new ArrayList<>();
+            for (int row : result.topRows(group)) {
+                topEarners.add(store.get(row));
+            }
+            groups.add(new SalaryGroup(
+                    grouping.labelOf(group),
+                    result.counts[group],
+                    result.sums[group],
+                    result.mins[group],
+                    result.maxs[group],
+                    result.sums[group] / result.counts[group],
+                    topEarners));
+        }
+        return groups;
+    }
+
+    private static final class AggregationTask extends RecursiveTask<Accumulator> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final EmployeeStore store;
+        private final Grouping grouping;
+        private final int topN;
+        private final int from;
+        private final int to;
+
+        AggregationTask(EmployeeStore store, Grouping grouping, int topN, int from, int to) {
+            this.store = store;
+            this.grouping = grouping;
+            this.topN = topN;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Accumulator compute() {
+            if (to - from <= SEQUENTIAL_THRESHOLD) {
+                Accumulator accumulator = new Accumulator(store, grouping.groupCount(), topN);
+                for (int row = from; row < to; row++) {
+                    accumulator.add(grouping.groupOf(row), row);
+                }
+                return accumulator;
+            }
+            int middle = (from + to) >>> 1;
+            AggregationTask left = new AggregationTask(store, grouping, topN, from, middle);
+            AggregationTask right = new AggregationTask(store, grouping, topN, middle, to);
+            left.fork();
+            Accumulator rightResult = right.compute();
+            return left.join().merge(rightResult);
+        }
+    }
+
+    /*
+     * Per-task partial aggregate. Top-N heaps are min-heaps of row numbers ordered by salary (ties by row), allocated
+     * only for groups that occur in the task's range.
+     */
+    private static final class Accumulator {
+
+        private final EmployeeStore store;
+        private final int topN;
+        private final long[] counts;
+        private final double[] sums;
+        private final double[] mins;
+        private final double[] maxs;
+        private final int[][] heaps;
+        private final int[] heapSizes;
+
+        Accumulator(EmployeeStore store, int groupCount, int topN) {
+            this.store = store;
+            this.topN = topN;
+            this.counts = new long[groupCount];
+            this.sums = new double[groupCount];
+            this.mins = new double[groupCount];
+            this.maxs = new double[groupCount];
+            this.heaps = new int[groupCount][];
+            this.heapSizes = new int[groupCount];
+            Arrays.fill(mins, Double.POSITIVE_INFINITY);
+            Arrays.fill(maxs, Double.NEGATIVE_INFINITY);
+        }
+
+        void add(int group, int row) {
+            double salary = store.salary(row);
+            counts[group]++;
+            sums[group] += salary;
+            if (salary < mins[group]) {
+                mins[group] = salary;
+            }
+            if (salary > maxs[group]) {
+                maxs[group] = salary;
+            }
+            offer(group, row);
+        }
+
+        Accumulator merge(Accumulator other) {
+            for (int group = 0; group < counts.length; group++) {
+                if (other.counts[group] == 0) {
+                    continue;
+                }
+                counts[group] += other.counts[group];
+                sums[group] += other.sums[group];
+                mins[group] = Math.min(mins[group], other.mins[group]);
+                maxs[group] = Math.max(maxs[group], other.maxs[group]);
+                for (int i = 0; i < other.heapSizes[group]; i++) {
+                    offer(group, other.heaps[group][i]);
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Drains the group's heap.
+         *
+         * @return rows ordered by salary, highest first
+         */
+        int[] topRows(int group) {
+            int size = heapSizes[group];
+            int[] heap = heaps[group];
+            int[] top = new int[size];
+            for (int i = size - 1; i >= 0; i--) {
+                top[i] = heap[0];
+                heap[0] = heap[i];
+                siftDown(heap, i);
+            }
+            heapSizes[group] = 0;
+            return top;
+        }
+
+        private void offer(int group, int row) {
+            if (topN == 0) {
+                return;
+            }
+            if (heaps[group] == null) {
+                heaps[group] = new int[topN];
+            }
+            int[] heap = heaps[group];
+            if (heapSizes[group] < topN) {
+                int index = heapSizes[group]++;
+                heap[index] = row;
+                while (index > 0) {
+                    int parent = (index - 1) >>> 1;
+                    if (!ranksAbove(heap[parent], heap[index])) {
+                        break;
+                    }
+                    swap(heap, parent, index);
+                    index = parent;
+                }
+            } else if (ranksAbove(row, heap[0])) {
+                heap[0] = row;
+                siftDown(heap, heapSizes[group]);
+            }
+        }
+
+        private void siftDown(int[] heap, int size) {
+            int index = 0;
+            while (true) {
+                int left = 2 * index + 1;
+                if (left >= size) {
+                    return;
+                }
+                int right = left + 1;
+                int lowest = right < size && ranksAbove(heap[left], heap[right]) ? right : left;
+                if (!ranksAbove(heap[index], heap[lowest])) {
+                    return;
+                }
+                swap(heap, index, lowest);
+                index = lowest;
+            }
+        }
+
+        private boolean ranksAbove(int row, int other) {
+            double salary = store.salary(row);
+            double otherSalary = store.salary(other);
+            return salary > otherSalary || (salary == otherSalary && row < other);
+        }
+
+        private static void swap(int[] heap, int i, int j) {
+            int tmp = heap[i];
+            heap[i] = heap[j];
+            heap[j] = tmp;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.reliaquest.api.stats;
+
+import java.util.Arrays;
+
+/**
+ * Mergeable quantile sketch with a relative-error guarantee, following the DDSketch design.
+ *
+ * <p>Positive values are counted in logarithmic buckets of ratio {@code gamma = (1 + a) / (1 - a)}, so any quantile
+ * is answered with a value within relative error {@code a} of the exact quantile of the recorded values. Unlike
+ * t-digest or KLL, bucket counts can be decremented, which makes {@link #remove(double)} exact and lets the sketch
+ * follow deletions without a rebuild. Memory grows with the logarithm of the value range, not with the number of
+ * values: salaries between 1 and 10^7 need under 900 buckets at 1% accuracy. Not thread-safe.
+ */
+public final class SalarySketch {
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+
+    private long[] counts = new long[0];
+    private int minIndex;
+    private long zeroCount;
+    private long count;
+
+    public SalarySketch(double relativeAccuracy) {
+        if (relativeAccuracy <= 0 || relativeAccuracy >= 1) {
+            throw new IllegalArgumentException("Relative accuracy must be in (0, 1)");
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+    }
+
+    public double relativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    public void add(double value) {
+        if (value <= 0) {
+            zeroCount++;
+        } else {
+            int index = indexOf(value);
+            ensureCapacity(index);
+            counts[index - minIndex]++;
+        }
+        count++;
+    }
+
+    /**
+     * @return false when no value falling into the same bucket was recorded, in which case nothing changes
+     */
+    public boolean remove(double value) {
+        if (value <= 0) {
+            if (zeroCount == 0) {
+                return false;
+            }
+            zeroCount--;
+        } else {
+            int index = indexOf(value);
+            if (index < minIndex || index >= minIndex + counts.length || counts[index - minIndex] == 0) {
+                return false;
+            }
+            counts[index - minIndex]--;
+        }
+        count--;
+        return true;
+    }
+
+    public void merge(SalarySketch other) {
+        if (other.relativeAccuracy != relativeAccuracy) {
+            throw new IllegalArgumentException("Cannot merge sketches with different relative accuracy");
+        }
+        for (int i = 0; i < other.counts.length; i++) {
+            if (other.counts[i] > 0) {
+                ensureCapacity(other.minIndex + i);
+                counts[other.minIndex + i - minIndex] += other.counts[i];
+            }
+        }
+        zeroCount += other.zeroCount;
+        count += other.count;
+    }
+
+    /**
+     * @param quantile in the range [0, 1]
+     * @return the estimated quantile, or NaN when the sketch is empty
+     */
+    public double quantile(double quantile) {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        double rank = Math.min(Math.max(quantile, 0), 1) * (count - 1);
+        long seen = zeroCount;
+        if (seen > rank) {
+            return 0;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen > rank) {
+                return valueOf(minIndex + i);
+            }
+        }
+        return max();
+    }
+
+    /**
+     * @return the number of recorded values whose bucket lies entirely below the bucket of {@code value}
+     */
+    public long countBelow(double value) {
+        if (value <= 0) {
+            return 0;
+        }
+        long below = zeroCount;
+        int limit = Math.min(indexOf(value) - minIndex, counts.length);
+        for (int i = 0; i < limit; i++) {
+            below += counts[i];
+        }
+        return below;
+    }
+
+    public double min() {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        if (zeroCount > 0) {
+            return 0;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                return valueOf(minIndex + i);
+            }
+        }
+        return 0;
+    }
+
+    public double max() {
+        if (count == 0) {
+            return Double.NaN;
+        }
+        for (int i = counts.length - 1; i >= 0; i--) {
+            if (counts[i] > 0) {
+                return valueOf(minIndex + i);
+            }
+        }
+        return 0;
+    }
+
+    private int indexOf(double value) {
+        return (int) Math.ceil(Math.log(value) / logGamma);
+    }
+
+    /*
+     * Midpoint of bucket (gamma^(i-1), gamma^i] in the relative sense, which bounds the error by relativeAccuracy on
+     * both sides.
+     */
+    private double valueOf(int index) {
+        return 2 * Math.pow(gamma, index) / (gamma + 1);
+    }
+
+    private void ensureCapacity(int index) {
+        if (counts.length == 0) {
+            counts = new long[16];
+            minIndex = index - 8;
+            return;
+        }
+        if (index < minIndex) {
+            int grow = Math.max(minIndex - index, counts.length / 2);
+            long[] resized = new long[counts.length + grow];
+            System.arraycopy(counts, 0, resized, grow, counts.length);
+            counts = resized;
+            minIndex -= grow;
+        } else if (index >= minIndex + counts.length) {
+            int grow = Math.max(index - (minIndex + counts.length) + 1, counts.length / 2);
+            counts = Arrays.copyOf(counts, counts.length + grow);
+        }
+    }
+}
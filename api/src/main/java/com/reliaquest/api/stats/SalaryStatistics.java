@@ -0,0 +1,175 @@
+package com.reliaquest.api.stats;
+
+import com.reliaquest.api.entity.SalaryStats;
+import com.reliaquest.api.event.EmployeeCreatedEvent;
+import com.reliaquest.api.event.EmployeeDeletedEvent;
+import com.reliaquest.api.event.EmployeeStoreRefreshedEvent;
+import com.reliaquest.api.store.EmployeeStore;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Salary distribution summary kept up to date without rescanning the roster.
+ *
+ * <p>Rebuilt from every refreshed {@link EmployeeStore} and adjusted incrementally on creates and deletes. Count, mean
+ * and standard deviation are exact (up to floating point); min, max, percentiles and histogram edges come from a
+ * {@link SalarySketch} and are within the configured relative error of the true values. Queries cost a walk over a
+ * few hundred buckets regardless of how many employees there are.
+ */
+@Slf4j
+@Component
+public class SalaryStatistics {
+
+    private final double relativeAccuracy;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private SalarySketch sketch;
+
+    /*
+     * Moments are accumulated relative to a pivot close to the mean, which keeps the variance computation from
+     * cancelling catastrophically on large salaries.
+     */
+    private double pivot;
+    private double shiftedSum;
+    private double shiftedSumOfSquares;
+
+    public SalaryStatistics(@Value("${employee.stats.relative-accuracy:0.01}") double relativeAccuracy) {
+        this.relativeAccuracy = relativeAccuracy;
+    }
+
+    public boolean isInitialized() {
+        lock.readLock().lock();
+        try {
+            return sketch != null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onStoreRefreshed(EmployeeStoreRefreshedEvent event) {
+        rebuild(event.store());
+    }
+
+    @EventListener
+    public void onEmployeeCreated(EmployeeCreatedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (sketch != null) {
+                double salary = event.employee().getSalary();
+                sketch.add(salary);
+                shiftedSum += salary - pivot;
+                shiftedSumOfSquares += (salary - pivot) * (salary - pivot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onEmployeeDeleted(EmployeeDeletedEvent event) {
+        lock.writeLock().lock();
+        try {
+            double salary = event.employee().getSalary();
+            if (sketch != null && sketch.remove(salary)) {
+                shiftedSum -= salary - pivot;
+                shiftedSumOfSquares -= (salary - pivot) * (salary - pivot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void rebuild(EmployeeStore store) {
+        SalarySketch rebuilt = new SalarySketch(relativeAccuracy);
+        double sum = 0;
+        for (int row = 0; row < store.size(); row++) {
+            sum += store.salary(row);
+        }
+        double rebuiltPivot = store.size() > 0 ? sum / store.size() : 0;
+        double rebuiltSum = 0;
+        double rebuiltSumOfSquares = 0;
+        for (int row = 0; row < store.size(); row++) {
+            double salary = store.salary(row);
+            rebuilt.add(salary);
+            rebuiltSum += salary - rebuiltPivot;
+            rebuiltSumOfSquares += (salary - rebuiltPivot) * (salary - rebuiltPivot);
+        }
+
+        lock.writeLock().lock();
+        try {
+            sketch = rebuilt;
+            pivot = rebuiltPivot;
+            shiftedSum = rebuiltSum;
+            shiftedSumOfSquares = rebuiltSumOfSquares;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.debug("Rebuilt salary statistics from {} employees", store.size());
+    }
+
+    /**
+     * @param percentiles percentiles to report, each in the range [0, 100]
+     * @param histogramBuckets number of equal-width histogram buckets between min and max
+     * @return the current summary, or null when no snapshot has been loaded yet
+     */
+    public SalaryStats snapshot(double[] percentiles, int histogramBuckets) {
+        lock.readLock().lock();
+        try {
+            if (sketch == null) {
+                return null;
+            }
+            long count = sketch.count();
+            double mean = count > 0 ? pivot + shiftedSum / count : 0;
+            double variance = count > 0
+                    ? Math.max(0, shiftedSumOfSquares / count - Math.pow(shiftedSum / count, 2))
+                    : 0;
+
+            Map<String, Double> quantiles = new LinkedHashMap<>();
+            for (double percentile : percentiles) {
+                String key = "p" + BigDecimal.valueOf(percentile).stripTrailingZeros().toPlainString();
+                quantiles.put(key, count > 0 ? sketch.quantile(percentile / 100) : 0);
+            }
+
+            return new SalaryStats(
+                    count,
+                    mean,
+                    Math.sqrt(variance),
+                    count > 0 ? sketch.min() : 0,
+                    count > 0 ? sketch.max() : 0,
+                    quantiles,
+                    histogram(histogramBuckets),
+                    sketch.relativeAccuracy());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<SalaryStats.Bucket> histogram(int buckets) {
+        List<SalaryStats.Bucket> histogram = new ArrayList<>();
+        if (sketch.count() == 0 || buckets <= 0) {
+            return histogram;
+        }
+        double min = sketch.min();
+        double max = sketch.max();
+        double width = (max - min) / buckets;
+        long below = 0;
+        for (int i = 0; i < buckets; i++) {
+            double lower = min + i * width;
+            double upper = i == buckets - 1 ? max : min + (i + 1) * width;
+            long belowUpper = i == buckets - 1 ? sketch.count() : sketch.countBelow(upper);
+            histogram.add(new SalaryStats.Bucket(lower, upper, belowUpper - below));
+            below = belowUpper;
+        }
+        return histogram;
+    }
+}
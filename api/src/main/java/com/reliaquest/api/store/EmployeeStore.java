@@ -0,0 +1,430 @@
+package com.reliaquest.api.store;
+
+import com.reliaquest.api.entity.Employee;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Immutable, column-oriented snapshot of the employee roster.
+ *
+ * <p>Salaries and ages live in primitive arrays, names and titles are dictionary-encoded and ids are packed into two
+ * {@code long} columns, so aggregations run as tight loops over contiguous memory instead of chasing one
+ * {@link Employee} object per row. {@link Employee} instances are only materialized on demand through
+ * {@link #get(int)}. Rows are addressed by their position in the list the store was built from.
+ */
+public final class EmployeeStore {
+
+    private static final int NO_ROW = -1;
+    private static final int NO_CODE = -1;
+
+    final int size;
+    final long[] idMostSignificantBits;
+    final long[] idLeastSignificantBits;
+    final double[] salaries;
+    final int[] ages;
+    final int[] nameCodes;
+    final String[] nameDictionary;
+    final int[] titleCodes;
+    final String[] titleDictionary;
+    final String[] emails;
+
+    /*
+     * Ids that are not canonical UUIDs cannot be packed; they are kept as strings, indexed by row. Null when every id
+     * is a UUID, which is always the case for data coming from the mock server.
+     */
+    final String[] irregularIds;
+
+    final long fetchedAtMillis;
+
+    /*
+     * Set for snapshots restored from a checkpoint file until they have been revalidated against upstream.
+     */
+    final boolean stale;
+
+    /*
+     * Open-addressing hash table from id to row + 1 (0 marks an empty slot), sized to a power of two with a load
+     * factor of at most 0.5.
+     */
+    private final int[] idIndex;
+
+    EmployeeStore(
+            int size,
+            long[] idMostSignificantBits,
+            long[] idLeastSignificantBits,
+            String[] irregularIds,
+            double[] salaries,
+            int[] ages,
+            int[] nameCodes,
+            String[] nameDictionary,
+            int[] titleCodes,
+            String[] titleDictionary,
+            String[] emails,
+            long fetchedAtMillis,
+            boolean stale) {
+        this.size = size;
+        this.idMostSignificantBits = idMostSignificantBits;
+        this.idLeastSignificantBits = idLeastSignificantBits;
+        this.irregularIds = irregularIds;
+        this.salaries = salaries;
+        this.ages = ages;
+        this.nameCodes = nameCodes;
+        this.nameDictionary = nameDictionary;
+        this.titleCodes = titleCodes;
+        this.titleDictionary = titleDictionary;
+        this.emails = emails;
+        this.fetchedAtMillis = fetchedAtMillis;
+        this.stale = stale;
+        this.idIndex = buildIdIndex();
+    }
+
+    public static EmployeeStore of(List<Employee> employees) {
+        int size = employees.size();
+        long[] mostSignificantBits = new long[size];
+        long[] leastSignificantBits = new long[size];
+        String[] irregularIds = null;
+        double[] salaries = new double[size];
+        int[] ages = new int[size];
+        int[] nameCodes = new int[size];
+        int[] titleCodes = new int[size];
+        String[] emails = new String[size];
+        Dictionary names = new Dictionary();
+        Dictionary titles = new Dictionary();
+
+        for (int row = 0; row < size; row++) {
+            Employee employee = employees.get(row);
+            UUID uuid = parseUuid(employee.getId());
+            if (uuid != null) {
+                mostSignificantBits[row] = uuid.getMostSignificantBits();
+                leastSignificantBits[row] = uuid.getLeastSignificantBits();
+            } else {
+                if (irregularIds == null) {
+                    irregularIds = new String[size];
+                }
+                irregularIds[row] = employee.getId();
+            }
+            salaries[row] = employee.getSalary();
+            ages[row] = employee.getAge();
+            nameCodes[row] = names.encode(employee.getName());
+            titleCodes[row] = titles.encode(employee.getTitle());
+            emails[row] = employee.getEmail();
+        }
+
+        return new EmployeeStore(
+                size,
+                mostSignificantBits,
+                leastSignificantBits,
+                irregularIds,
+                salaries,
+                ages,
+                nameCodes,
+                names.values(),
+                titleCodes,
+                titles.values(),
+                emails,
+                System.currentTimeMillis(),
+                false);
+    }
+
+    /**
+     * Copies the store without the given row, sharing the dictionaries and keeping {@link #getFetchedAt()}, so a
+     * single delete does not cost a refetch of the whole roster. Rows after it move up by one.
+     */
+    public EmployeeStore without(int row) {
+        return new EmployeeStore(
+                size - 1,
+                remove(idMostSignificantBits, row),
+                remove(idLeastSignificantBits, row),
+                irregularIds != null ? remove(irregularIds, row) : null,
+                remove(salaries, row),
+                remove(ages, row),
+                remove(nameCodes, row),
+                nameDictionary,
+                remove(titleCodes, row),
+                titleDictionary,
+                remove(emails, row),
+                fetchedAtMillis,
+                stale);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return when the data was fetched from upstream
+     */
+    public Instant getFetchedAt() {
+        return Instant.ofEpochMilli(fetchedAtMillis);
+    }
+
+    /**
+     * @return true for a snapshot restored from a checkpoint that has not been revalidated against upstream yet
+     */
+    public boolean isStale() {
+        return stale;
+    }
+
+    /**
+     * @return a freshly materialized view of the given row
+     */
+    public Employee get(int row) {
+        return new Employee(id(row), name(row), salaries[row], ages[row], title(row), emails[row]);
+    }
+
+    public List<Employee> toEmployees() {
+        List<Employee> employees = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) {
+            employees.add(get(row));
+        }
+        return employees;
+    }
+
+    public String id(int row) {
+        if (irregularIds != null && irregularIds[row] != null) {
+            return irregularIds[row];
+        }
+        return new UUID(idMostSignificantBits[row], idLeastSignificantBits[row]).toString();
+    }
+
+    public String name(int row) {
+        return decode(nameDictionary, nameCodes[row]);
+    }
+
+    public String title(int row) {
+        return decode(titleDictionary, titleCodes[row]);
+    }
+
+    /**
+     * @return dictionary code of the row's title, or -1 when it has none; codes are dense in [0, titleCount())
+     */
+    public int titleCode(int row) {
+        return titleCodes[row];
+    }
+
+    public int titleCount() {
+        return titleDictionary.length;
+    }
+
+    public String titleForCode(int code) {
+        return decode(titleDictionary, code);
+    }
+
+    public double salary(int row) {
+        return salaries[row];
+    }
+
+    public int age(int row) {
+        return ages[row];
+    }
+
+    public String email(int row) {
+        return emails[row];
+    }
+
+    /**
+     * @return the row holding the employee with the given id, or -1 when there is none
+     */
+    public int indexOf(String id) {
+        if (id == null || size == 0) {
+            return NO_ROW;
+        }
+        UUID uuid = parseUuid(id);
+        int mask = idIndex.length - 1;
+        int slot = (uuid != null ? hash(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits()) : hash(id))
+                & mask;
+        while (idIndex[slot] != 0) {
+            int row = idIndex[slot] - 1;
+            if (matches(row, uuid, id)) {
+                return row;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return NO_ROW;
+    }
+
+    public double maxSalary() {
+        double max = 0;
+        for (int row = 0; row < size; row++) {
+            if (salaries[row] > max) {
+                max = salaries[row];
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Selects the {@code k} highest-paid rows with a bounded min-heap over row numbers, in O(n log k) without boxing.
+     * Ties keep the original row order, matching a stable sort.
+     *
+     * @return rows ordered by salary, highest first
+     */
+    public int[] topBySalary(int k) {
+        int limit = Math.min(Math.max(k, 0), size);
+        int[] heap = new int[limit];
+        int count = 0;
+        for (int row = 0; row < size && limit > 0; row++) {
+            if (count < limit) {
+                heap[count] = row;
+                siftUp(heap, count++);
+            } else if (ranksAbove(row, heap[0])) {
+                heap[0] = row;
+                siftDown(heap, 0, count);
+            }
+        }
+        int[] top = new int[count];
+        for (int i = count - 1; i >= 0; i--) {
+            top[i] = heap[0];
+            heap[0] = heap[i];
+            siftDown(heap, 0, i);
+        }
+        return top;
+    }
+
+    private boolean ranksAbove(int row, int other) {
+        return salaries[row] > salaries[other] || (salaries[row] == salaries[other] && row < other);
+    }
+
+    private void siftUp(int[] heap, int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!ranksAbove(heap[parent], heap[index])) {
+                return;
+            }
+            swap(heap, parent, index);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int[] heap, int index, int count) {
+        while (true) {
+            int left = 2 * index + 1;
+            if (left >= count) {
+                return;
+            }
+            int right = left + 1;
+            int lowest = right < count && ranksAbove(heap[left], heap[right]) ? right : left;
+            if (!ranksAbove(heap[index], heap[lowest])) {
+                return;
+            }
+            swap(heap, index, lowest);
+            index = lowest;
+        }
+    }
+
+    private static void swap(int[] heap, int i, int j) {
+        int tmp = heap[i];
+        heap[i] = heap[j];
+        heap[j] = tmp;
+    }
+
+    private int[] buildIdIndex() {
+        int[] table = new int[Math.max(2, Integer.highestOneBit(Math.max(1, size) * 2 - 1) << 1)];
+        int mask = table.length - 1;
+        for (int row = 0; row < size; row++) {
+            String irregularId = irregularIds != null ? irregularIds[row] : null;
+            int slot = (irregularId != null
+                            ? hash(irregularId)
+                            : hash(idMostSignificantBits[row], idLeastSignificantBits[row]))
+                    & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = row + 1;
+        }
+        return table;
+    }
+
+    private boolean matches(int row, UUID uuid, String id) {
+        boolean irregular = irregularIds != null && irregularIds[row] != null;
+        if (uuid != null) {
+            return !irregular
+                    && idMostSignificantBits[row] == uuid.getMostSignificantBits()
+                    && idLeastSignificantBits[row] == uuid.getLeastSignificantBits();
+        }
+        return irregular && irregularIds[row].equals(id);
+    }
+
+    private static int hash(long mostSignificantBits, long leastSignificantBits) {
+        long h = mostSignificantBits ^ Long.rotateLeft(leastSignificantBits, 32);
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    private static int hash(String id) {
+        int h = Objects.hashCode(id);
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * @return the parsed id, or null when it is not a canonical (round-trippable) UUID string
+     */
+    private static UUID parseUuid(String id) {
+        if (id == null || id.length() != 36) {
+            return null;
+        }
+        try {
+            UUID uuid = UUID.fromString(id);
+            return uuid.toString().equals(id) ? uuid : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static long[] remove(long[] column, int row) {
+        long[] copy = new long[column.length - 1];
+        System.arraycopy(column, 0, copy, 0, row);
+        System.arraycopy(column, row + 1, copy, row, copy.length - row);
+        return copy;
+    }
+
+    private static double[] remove(double[] column, int row) {
+        double[] copy = new double[column.length - 1];
+        System.arraycopy(column, 0, copy, 0, row);
+        System.arraycopy(column, row + 1, copy, row, copy.length - row);
+        return copy;
+    }
+
+    private static int[] remove(int[] column, int row) {
+        int[] copy = new int[column.length - 1];
+        System.arraycopy(column, 0, copy, 0, row);
+        System.arraycopy(column, row + 1, copy, row, copy.length - row);
+        return copy;
+    }
+
+    private static String[] remove(String[] column, int row) {
+        String[] copy = new String[column.length - 1];
+        System.arraycopy(column, 0, copy, 0, row);
+        System.arraycopy(column, row + 1, copy, row, copy.length - row);
+        return copy;
+    }
+
+    private static String decode(String[] dictionary, int code) {
+        return code == NO_CODE ? null : dictionary[code];
+    }
+
+    private static final class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int encode(String value) {
+            if (value == null) {
+                return NO_CODE;
+            }
+            return codes.computeIfAbsent(value, key -> {
+                values.add(key);
+                return values.size() - 1;
+            });
+        }
+
+        String[] values() {
+            return values.toArray(String[]::new);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.reliaquest.api.store;
+
+import com.reliaquest.api.event.EmployeeDeletedEvent;
+import com.reliaquest.api.event.EmployeeStoreRefreshedEvent;
+import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.shard.ShardRouter;
+import com.reliaquest.api.utils.UpstreamBudget;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the employee snapshot warm across restarts.
+ *
+ * <p>The latest snapshot loaded from upstream is periodically written to an {@link EmployeeStoreFile}, and once more on
+ * shutdown. On startup the file is mapped back in and seeded into the {@code employeeStore} cache marked as stale, so the first wave of traffic is served locally instead of stampeding the rate-limited
+ * upstream, while a single background request revalidates it. The file records the upstream urls it was fetched from,
+ * and a checkpoint of any other upstream is ignored. Deletes are applied to the latest snapshot as they happen, so a
+ * restart does not bring deleted employees back. With {@code employee.prefetch.enabled}, {@link EmployeePrefetcher}
+ * revalidates the restored snapshot before the application reports ready, and it is not revalidated here again.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "employee.snapshot.enabled", havingValue = "true", matchIfMissing = true)
+public class EmployeeStoreCheckpoint {
+
+    private final EmployeeService employeeService;
+    private final UpstreamBudget budget;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskScheduler taskScheduler;
+    private final String upstream;
+    private final Path file;
+    private final Duration maxAge;
+    private final boolean prefetchEnabled;
+
+    private volatile EmployeeStore latest;
+    private volatile EmployeeStore checkpointed;
+
+    public EmployeeStoreCheckpoint(
+            EmployeeService employeeService,
+            UpstreamBudget budget,
+            CacheManager cacheManager,
+            ApplicationEventPublisher eventPublisher,
+            TaskScheduler taskScheduler,
+            ShardRouter shardRouter,
+            @Value("${employee.snapshot.file:${java.io.tmpdir}/employee-api/employee-store.bin}") Path file,
+            @Value("${employee.snapshot.max-age:24h}") Duration maxAge,
+            @Value("${employee.prefetch.enabled:true}") boolean prefetchEnabled) {
+        this.employeeService = employeeService;
+        this.budget = budget;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+        this.taskScheduler = taskScheduler;
+        this.upstream = String.join(",", shardRouter.urls());
+        this.file = file;
+        this.maxAge = maxAge;
+        this.prefetchEnabled = prefetchEnabled;
+    }
+
+    @EventListener
+    public synchronized void onStoreRefreshed(EmployeeStoreRefreshedEvent event) {
+        latest = event.store();
+    }
+
+    @EventListener
+    public synchronized void onEmployeeDeleted(EmployeeDeletedEvent event) {
+        EmployeeStore store = latest;
+        int row = store != null ? store.indexOf(event.employee().getId()) : -1;
+        if (row >= 0) {
+            latest = store.without(row);
+        }
+    }
+
+    @EventListener
+    public void onApplicationStarted(ApplicationStartedEvent event) {
+        EmployeeStore store = restore();
+        if (store != null) {
+            seedCache(store);
+            eventPublisher.publishEvent(new EmployeeStoreRefreshedEvent(store));
+            log.info("Serving {} employees from checkpoint taken at {} until revalidated", store.size(), store.getFetchedAt());
+            if (!prefetchEnabled) {
+                taskScheduler.schedule(this::revalidate, Instant.now());
+            }
+        }
+    }
+
+    @Scheduled(
+            fixedDelayString = "${employee.snapshot.checkpoint-interval:PT30S}",
+            initialDelayString = "${employee.snapshot.checkpoint-interval:PT30S}")
+    public void checkpoint() {
+        EmployeeStore store = latest;
+        if (store == null || store.isStale() || store == checkpointed) {
+            return;
+        }
+        try {
+            EmployeeStoreFile.write(store, upstream, file);
+            checkpointed = store;
+            log.debug("Checkpointed {} employees to {}", store.size(), file);
+        } catch (IOException e) {
+            log.warn("Failed to checkpoint employee store to {}: {}", file, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void checkpointOnShutdown() {
+        checkpoint();
+    }
+
+    private EmployeeStore restore() {
+        try {
+            EmployeeStore store = EmployeeStoreFile.read(file, upstream);
+            if (store == null) {
+                log.info("Ignoring employee store checkpoint {} taken from another upstream than {}", file, upstream);
+                return null;
+            }
+            if (store.getFetchedAt().plus(maxAge).isBefore(Instant.now())) {
+                log.info("Ignoring employee store checkpoint taken at {}, older than {}", store.getFetchedAt(), maxAge);
+                return null;
+            }
+            return store;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            log.warn("Discarding unreadable employee store checkpoint {}: {}", file, e.getMessage());
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+                // Overwritten by the next checkpoint anyway.
+            }
+            return null;
+        }
+    }
+
+    private void revalidate() {
+        ResponseEntity<EmployeeStore> response = budget.runInBackground(employeeService::refreshEmployeeStore);
+        if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
+            log.info("Revalidated employee store checkpoint, {} employees", response.getBody().size());
+        } else {
+            log.warn(
+                    "Revalidating employee store checkpoint failed with {}, serving stale data for now",
+                    response.getStatusCode());
+        }
+    }
+
+    private void seedCache(EmployeeStore store) {
+        Cache cache = cacheManager.getCache("employeeStore");
+        if (cache != null) {
+            cache.put(SimpleKey.EMPTY, ResponseEntity.ok(store));
+        }
+    }
+}
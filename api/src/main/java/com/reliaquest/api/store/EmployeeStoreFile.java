@@ -0,0 +1,229 @@
+package com.reliaquest.api.store;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Binary checkpoint format of an {@link EmployeeStore}, written and read through memory-mapped files.
+ *
+ * <p>Layout (big-endian): a fixed header (magic, version, row count, dictionary sizes, flags, fetch time), the
+ * length-prefixed UTF-8 upstream the snapshot was fetched from, the primitive columns back to back (id high bits, id
+ * low bits, salaries, ages, name codes, title codes), then the length-prefixed UTF-8 string tables (names, titles,
+ * emails and, if present, irregular ids) and finally a CRC32 of everything before it. Columns are copied out of the mapping with bulk reads, so restoring a snapshot costs about as
+ * much as reading the file. Files are written to a temporary sibling, moved into place atomically and the directory
+ * forced, so a crash never leaves a torn checkpoint behind.
+ */
+public final class EmployeeStoreFile {
+
+    private static final int MAGIC = 0x52514553; // "RQES"
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 4 * 6 + 8;
+    private static final int FLAG_IRREGULAR_IDS = 1;
+    private static final int NULL_STRING = -1;
+
+    private EmployeeStoreFile() {}
+
+    /**
+     * @param upstream identifies where the snapshot was fetched from, checked again by {@link #read}
+     */
+    public static void write(EmployeeStore store, String upstream, Path path) throws IOException {
+        byte[][] source = encode(new String[] {upstream});
+        byte[][] names = encode(store.nameDictionary);
+        byte[][] titles = encode(store.titleDictionary);
+        byte[][] emails = encode(store.emails);
+        byte[][] irregularIds = store.irregularIds != null ? encode(store.irregularIds) : null;
+
+        long length = HEADER_BYTES
+                + tableBytes(source)
+                + (long) store.size * (8 + 8 + 8 + 4 + 4 + 4)
+                + tableBytes(names)
+                + tableBytes(titles)
+                + tableBytes(emails)
+                + (irregularIds != null ? tableBytes(irregularIds) : 0)
+                + 4;
+        if (length > Integer.MAX_VALUE) {
+            throw new IOException("Employee store too large to checkpoint: " + length + " bytes");
+        }
+
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(
+                    temporary, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+                buffer.putInt(MAGIC)
+                        .putInt(VERSION)
+                        .putInt(store.size)
+                        .putInt(store.nameDictionary.length)
+                        .putInt(store.titleDictionary.length)
+                        .putInt(irregularIds != null ? FLAG_IRREGULAR_IDS : 0)
+                        .putLong(store.fetchedAtMillis);
+                putTable(buffer, source);
+                buffer.asLongBuffer().put(store.idMostSignificantBits);
+                buffer.position(buffer.position() + store.size * 8);
+                buffer.asLongBuffer().put(store.idLeastSignificantBits);
+                buffer.position(buffer.position() + store.size * 8);
+                buffer.asDoubleBuffer().put(store.salaries);
+                buffer.position(buffer.position() + store.size * 8);
+                buffer.asIntBuffer().put(store.ages);
+                buffer.position(buffer.position() + store.size * 4);
+                buffer.asIntBuffer().put(store.nameCodes);
+                buffer.position(buffer.position() + store.size * 4);
+                buffer.asIntBuffer().put(store.titleCodes);
+                buffer.position(buffer.position() + store.size * 4);
+                putTable(buffer, names);
+                putTable(buffer, titles);
+                putTable(buffer, emails);
+                if (irregularIds != null) {
+                    putTable(buffer, irregularIds);
+                }
+                buffer.putInt(checksum(buffer, buffer.position()));
+                buffer.force();
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+        syncDirectory(directory);
+    }
+
+    /**
+     * @param upstream the upstream the snapshot has to have been fetched from
+     * @return the checkpointed store, marked as {@link EmployeeStore#isStale() stale}, or {@code null} if it was
+     *     fetched from a different upstream
+     * @throws IOException if the file cannot be read or is corrupt
+     */
+    public static EmployeeStore read(Path path, String upstream) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < HEADER_BYTES + 4 || length > Integer.MAX_VALUE) {
+                throw new IOException("Invalid employee store checkpoint size: " + length);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            if (checksum(buffer, (int) length - 4) != buffer.getInt((int) length - 4)) {
+                throw new IOException("Employee store checkpoint checksum mismatch");
+            }
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException("Unsupported employee store checkpoint format");
+            }
+            int size = buffer.getInt();
+            int nameCount = buffer.getInt();
+            int titleCount = buffer.getInt();
+            int flags = buffer.getInt();
+            long fetchedAtMillis = buffer.getLong();
+            if (!upstream.equals(getTable(buffer, 1)[0])) {
+                return null;
+            }
+
+            long[] mostSignificantBits = new long[size];
+            long[] leastSignificantBits = new long[size];
+            double[] salaries = new double[size];
+            int[] ages = new int[size];
+            int[] nameCodes = new int[size];
+            int[] titleCodes = new int[size];
+            buffer.asLongBuffer().get(mostSignificantBits);
+            buffer.position(buffer.position() + size * 8);
+            buffer.asLongBuffer().get(leastSignificantBits);
+            buffer.position(buffer.position() + size * 8);
+            buffer.asDoubleBuffer().get(salaries);
+            buffer.position(buffer.position() + size * 8);
+            buffer.asIntBuffer().get(ages);
+            buffer.position(buffer.position() + size * 4);
+            buffer.asIntBuffer().get(nameCodes);
+            buffer.position(buffer.position() + size * 4);
+            buffer.asIntBuffer().get(titleCodes);
+            buffer.position(buffer.position() + size * 4);
+            String[] names = getTable(buffer, nameCount);
+            String[] titles = getTable(buffer, titleCount);
+            String[] emails = getTable(buffer, size);
+            String[] irregularIds = (flags & FLAG_IRREGULAR_IDS) != 0 ? getTable(buffer, size) : null;
+
+            return new EmployeeStore(
+                    size,
+                    mostSignificantBits,
+                    leastSignificantBits,
+                    irregularIds,
+                    salaries,
+                    ages,
+                    nameCodes,
+                    names,
+                    titleCodes,
+                    titles,
+                    emails,
+                    fetchedAtMillis,
+                    true);
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt employee store checkpoint", e);
+        }
+    }
+
+    /*
+     * The rename is only durable once the directory entry is. Where a directory cannot be opened for reading, as on
+     * Windows, that is left to the file system.
+     */
+    private static void syncDirectory(Path directory) throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(directory, StandardOpenOption.READ);
+        } catch (IOException e) {
+            return;
+        }
+        try (channel) {
+            channel.force(true);
+        }
+    }
+
+    private static byte[][] encode(String[] values) {
+        byte[][] encoded = new byte[values.length][];
+        for (int i = 0; i < values.length; i++) {
+            encoded[i] = values[i] != null ? values[i].getBytes(StandardCharsets.UTF_8) : null;
+        }
+        return encoded;
+    }
+
+    private static long tableBytes(byte[][] table) {
+        long bytes = 0;
+        for (byte[] value : table) {
+            bytes += 4 + (value != null ? value.length : 0);
+        }
+        return bytes;
+    }
+
+    private static void putTable(ByteBuffer buffer, byte[][] table) {
+        for (byte[] value : table) {
+            if (value == null) {
+                buffer.putInt(NULL_STRING);
+            } else {
+                buffer.putInt(value.length).put(value);
+            }
+        }
+    }
+
+    private static String[] getTable(ByteBuffer buffer, int count) {
+        String[] values = new String[count];
+        for (int i = 0; i < count; i++) {
+            int length = buffer.getInt();
+            if (length != NULL_STRING) {
+                byte[] bytes = new byte[length];
+                buffer.get(bytes);
+                values[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+        }
+        return values;
+    }
+
+    private static int checksum(ByteBuffer buffer, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate().position(0).limit(length));
+        return (int) crc.getValue();
+    }
+}
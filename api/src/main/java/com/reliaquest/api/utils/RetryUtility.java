@@ -7,41 +7,59 @@ import java.io.IOException;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.util.concurrent.TimeUnit;
 @Slf4j
 @Component
 public class RetryUtility {
-    private static final int MAX_RETRIES = 3;
-    private static final long INITIAL_BACKOFF_MS = 30000;
 
-    private static final String WARNING_MESSAGE = "Too many requests. Retrying in " + INITIAL_BACKOFF_MS + " ms.";
-    private static final String FAILURE_MESSAGE = "Failed after " + MAX_RETRIES + " retries. Error 429";
+    private static final String WARNING_MESSAGE = "Too many requests. Retrying once the upstream budget allows.";
 
 
     private final HttpClient client;
+    private final UpstreamBudget budget;
+    private final UpstreamScheduler scheduler;
 
-    public RetryUtility() {
+    public RetryUtility(UpstreamBudget budget, UpstreamScheduler scheduler) {
         this.client = HttpClient.newHttpClient();
+        this.budget = budget;
+        this.scheduler = scheduler;
     }
 
+    /*
+     * A 429 locks the budget out for the lockout it expects, so the single retry waits in the scheduler for about that
+     * long instead of a fixed backoff, or is shed if that would take it past its deadline. With the default 30s
+     * employee.upstream.lockout and deadlines of a few seconds, the retry is shed; it is only sent once the lockout
+     * learned from probes, or a lower employee.upstream.lockout, ends before the deadline. A retry answered with 429
+     * again is returned as is.
+     */
     public HttpResponse<String> sendRequestWithRetry(HttpRequest request, HttpResponse.BodyHandler<String> bodyHandler) throws IOException, InterruptedException {
-        int attempt = 0;
-        long backoff = INITIAL_BACKOFF_MS;
+        String upstream = UpstreamBudget.upstreamOf(request.uri());
+        UpstreamScheduler.Priority priority = scheduler.classify(request);
+        long deadline = scheduler.deadlineFor(priority);
 
-        while (attempt < MAX_RETRIES) {
-            HttpResponse<String> response = client.send(request, bodyHandler);
-
-            if (response.statusCode() != 429) {
-                return response;
-            }
-
-            log.warn(WARNING_MESSAGE);
-            TimeUnit.MILLISECONDS.sleep(backoff);
-            backoff += backoff;
-            attempt++;
+        HttpResponse<String> response = send(request, bodyHandler, upstream, priority, deadline);
+        if (response.statusCode() != 429 || budget.isBackground()) {
+            // Background work gives up rather than holding a thread through the lockout.
+            return response;
         }
+        log.warn(WARNING_MESSAGE);
+        return send(request, bodyHandler, upstream, priority, deadline);
+    }
 
-        throw new IOException(FAILURE_MESSAGE);
+    private HttpResponse<String> send(
+            HttpRequest request,
+            HttpResponse.BodyHandler<String> bodyHandler,
+            String upstream,
+            UpstreamScheduler.Priority priority,
+            long deadline) throws IOException, InterruptedException {
+        scheduler.acquire(upstream, priority, deadline);
+        int status = -1;
+        try {
+            HttpResponse<String> response = client.send(request, bodyHandler);
+            status = response.statusCode();
+            return response;
+        } finally {
+            scheduler.release(upstream, status);
+        }
     }
 
 }
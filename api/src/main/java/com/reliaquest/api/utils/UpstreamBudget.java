@@ -0,0 +1,315 @@
+package com.reliaquest.api.utils;
+
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Estimates how many requests the rate-limited upstream accepts, from what {@link RetryUtility} observes, and hands
+ * out a share of that budget to background work.
+ *
+ * <p>The limit is modelled as a number of accepted requests per sliding window. It starts at a conservative guess,
+ * drops to the number of requests accepted in the window when the first 429 arrives, and grows whenever more requests
+ * than estimated get through. After a 429 the upstream is considered locked out for as long as the previous lockout
+ * lasted. Once that has passed, a single probe request finds out whether it is over; while probes keep getting 429s
+ * they are repeated a sixth of the configured lockout apart. The lockout is measured up to the time the successful
+ * probe was due rather than up to whenever the next request happens to arrive, so idle time does not inflate it, and
+ * it is capped at four times the configured lockout. Background requests are only allowed while no user-driven request
+ * is in flight or has just finished, and never take the last request of the window.
+ *
+ * <p>Every upstream server, identified by {@link #upstreamOf(URI)}, is rate limited on its own, so limit, lockout and
+ * requests are tracked per upstream; a 429 from one shard does not hold back requests to the others. The methods
+ * without an upstream answer for all upstreams seen so far at once, as work such as a full reload needs each of them.
+ */
+@Slf4j
+@Component
+public class UpstreamBudget {
+
+    private static final int FAILED = -1;
+    private static final int PROBES_PER_LOCKOUT = 6;
+    private static final int MAX_LOCKOUT_FACTOR = 4;
+
+    private final Clock clock;
+    private final long windowMillis;
+    private final int assumedLimit;
+    private final long assumedLockoutMillis;
+    private final ThreadLocal<Boolean> background = ThreadLocal.withInitial(() -> Boolean.FALSE);
+
+    // All state below is guarded by this.
+    private final Map<String, Upstream> upstreams = new LinkedHashMap<>();
+    private final Upstream unnamed;
+    private long lastForegroundAt = Long.MIN_VALUE / 2;
+    private int foregroundInFlight;
+
+    @Autowired
+    public UpstreamBudget(
+            @Value("${employee.upstream.window:60s}") Duration window,
+            @Value("${employee.upstream.assumed-limit:5}") int assumedLimit,
+            @Value("${employee.upstream.lockout:30s}") Duration lockout) {
+        this(window, assumedLimit, lockout, Clock.systemUTC());
+    }
+
+    public UpstreamBudget(Duration window, int assumedLimit, Duration lockout, Clock clock) {
+        this.clock = clock;
+        this.windowMillis = window.toMillis();
+        this.assumedLimit = assumedLimit;
+        this.assumedLockoutMillis = lockout.toMillis();
+        this.unnamed = new Upstream();
+    }
+
+    /**
+     * @return the key the budget of {@code uri}'s server is tracked under: its scheme and authority
+     */
+    public static String upstreamOf(URI uri) {
+        return uri.getScheme() + "://" + uri.getRawAuthority();
+    }
+
+    /**
+     * Runs {@code task} on the calling thread with its upstream requests marked as background: they do not count as
+     * user activity, and a 429 is returned to the caller instead of being retried.
+     */
+    public <T> T runInBackground(Supplier<T> task) {
+        boolean previous = background.get();
+        background.set(Boolean.TRUE);
+        try {
+            return task.get();
+        } finally {
+            background.set(previous);
+        }
+    }
+
+    /**
+     * Wraps {@code task} to run with the calling thread's background marking, for work handed off to other threads.
+     */
+    public <T> Callable<T> inheritBackground(Callable<T> task) {
+        boolean inherited = background.get();
+        return () -> {
+            boolean previous = background.get();
+            background.set(inherited);
+            try {
+                return task.call();
+            } finally {
+                background.set(previous);
+            }
+        };
+    }
+
+    public boolean isBackground() {
+        return background.get();
+    }
+
+    /**
+     * Claims one background request from every upstream if none is locked out, users have been idle for
+     * {@code yieldAfter}, fewer than {@code fraction} of the estimated limit went to background work in the current
+     * window, and at least one more request would remain for users.
+     */
+    public synchronized boolean tryAcquireBackground(double fraction, Duration yieldAfter) {
+        long now = clock.millis();
+        if (foregroundInFlight > 0 || now - lastForegroundAt < yieldAfter.toMillis()) {
+            return false;
+        }
+        for (Upstream upstream : known()) {
+            if (!upstream.allowsBackground(now, fraction)) {
+                return false;
+            }
+        }
+        for (Upstream upstream : known()) {
+            upstream.backgroundGranted.addLast(now);
+        }
+        return true;
+    }
+
+    /**
+     * How many more requests {@code upstream} most likely accepts right now: none while it is locked out, one for the
+     * probe once the lockout should have passed, otherwise the estimated limit less the requests accepted or in flight
+     * in the current window. Until the first 429 the limit is a guess that grows with every accepted request rather
+     * than a known ceiling, and headroom is unbounded.
+     */
+    public synchronized int headroom(String upstream) {
+        return upstream(upstream).headroom(clock.millis());
+    }
+
+    /**
+     * @return the smallest {@link #headroom(String)} of all upstreams
+     */
+    public synchronized int headroom() {
+        long now = clock.millis();
+        int headroom = Integer.MAX_VALUE;
+        for (Upstream upstream : known()) {
+            headroom = Math.min(headroom, upstream.headroom(now));
+        }
+        return headroom;
+    }
+
+    /**
+     * @return how much longer {@code upstream} is expected to stay locked out, zero if it is not
+     */
+    public synchronized Duration getLockoutRemaining(String upstream) {
+        return Duration.ofMillis(Math.max(0, upstream(upstream).lockedUntil - clock.millis()));
+    }
+
+    /**
+     * @return how much longer any upstream is expected to stay locked out, zero if none is
+     */
+    public synchronized Duration getLockoutRemaining() {
+        long lockedUntil = 0;
+        for (Upstream upstream : upstreams.values()) {
+            lockedUntil = Math.max(lockedUntil, upstream.lockedUntil);
+        }
+        return Duration.ofMillis(Math.max(0, lockedUntil - clock.millis()));
+    }
+
+    public synchronized int getEstimatedLimit(String upstream) {
+        return upstream(upstream).estimatedLimit;
+    }
+
+    public synchronized boolean isLockedOut(String upstream) {
+        return clock.millis() < upstream(upstream).lockedUntil;
+    }
+
+    /**
+     * @return whether the next request to {@code upstream} would be the probe that ends a lockout
+     */
+    public synchronized boolean isProbeDue(String upstream) {
+        return upstream(upstream).isProbeDue(clock.millis());
+    }
+
+    public synchronized void onRequestStarted(String upstream) {
+        Upstream state = upstream(upstream);
+        if (state.isProbeDue(clock.millis())) {
+            state.probing = true;
+        }
+        state.inFlight++;
+        if (!isBackground()) {
+            foregroundInFlight++;
+            lastForegroundAt = clock.millis();
+        }
+    }
+
+    /**
+     * @param status the response status, or {@code -1} if no response was received
+     */
+    public synchronized void onRequestCompleted(String upstream, int status) {
+        long now = clock.millis();
+        Upstream state = upstream(upstream);
+        state.inFlight--;
+        if (!isBackground()) {
+            foregroundInFlight--;
+            lastForegroundAt = now;
+        }
+        // Only the probe is sent while throttled, so any other response was to a request sent before the 429.
+        boolean probe = state.probing;
+        state.probing = false;
+        if (status == FAILED) {
+            return;
+        }
+        state.prune(now);
+        if (status == 429) {
+            if (state.throttledAt < 0) {
+                state.throttledAt = now;
+                state.limitObserved = true;
+                if (!state.accepted.isEmpty()) {
+                    state.estimatedLimit = state.accepted.size();
+                }
+                state.lockedUntil = now + state.estimatedLockoutMillis;
+                log.info(
+                        "Upstream {} throttled after {} requests, assuming a lockout of {} ms",
+                        upstream,
+                        state.estimatedLimit,
+                        state.estimatedLockoutMillis);
+            } else if (probe) {
+                state.lockedUntil = now + assumedLockoutMillis / PROBES_PER_LOCKOUT;
+            }
+            return;
+        }
+        if (state.throttledAt >= 0) {
+            if (!probe) {
+                return;
+            }
+            // The lockout ended by the time the probe was due; the upstream's counter starts over.
+            state.estimatedLockoutMillis = Math.min(
+                    Math.min(now, state.lockedUntil) - state.throttledAt, MAX_LOCKOUT_FACTOR * assumedLockoutMillis);
+            state.throttledAt = -1;
+            state.lockedUntil = 0;
+            state.accepted.clear();
+            state.backgroundGranted.clear();
+        }
+        state.accepted.addLast(now);
+        state.estimatedLimit = Math.max(state.estimatedLimit, state.accepted.size());
+    }
+
+    private Upstream upstream(String upstream) {
+        return upstreams.computeIfAbsent(upstream, key -> upstreams.isEmpty() ? unnamed : new Upstream());
+    }
+
+    /*
+     * Before the first request there is nothing to go by but the assumptions, which are kept as the state of whichever
+     * upstream is seen first.
+     */
+    private Collection<Upstream> known() {
+        return upstreams.isEmpty() ? List.of(unnamed) : upstreams.values();
+    }
+
+    private final class Upstream {
+
+        private final Deque<Long> accepted = new ArrayDeque<>();
+        private final Deque<Long> backgroundGranted = new ArrayDeque<>();
+        private int estimatedLimit = assumedLimit;
+        private long estimatedLockoutMillis = assumedLockoutMillis;
+        private long throttledAt = -1;
+        private long lockedUntil;
+        private boolean probing;
+        private boolean limitObserved;
+        private int inFlight;
+
+        /*
+         * Background work may send the probe too, or an upstream nobody else talks to would stay throttled.
+         */
+        private boolean allowsBackground(long now, double fraction) {
+            prune(now);
+            if (now < lockedUntil || probing || backgroundGranted.size() >= (int) Math.floor(estimatedLimit * fraction)) {
+                return false;
+            }
+            return throttledAt >= 0 || accepted.size() + inFlight + 1 < estimatedLimit;
+        }
+
+        private boolean isProbeDue(long now) {
+            return throttledAt >= 0 && now >= lockedUntil && !probing;
+        }
+
+        private int headroom(long now) {
+            prune(now);
+            if (now < lockedUntil) {
+                return 0;
+            }
+            if (throttledAt >= 0) {
+                return probing ? 0 : 1;
+            }
+            if (!limitObserved) {
+                return Integer.MAX_VALUE;
+            }
+            return Math.max(0, estimatedLimit - accepted.size() - inFlight);
+        }
+
+        private void prune(long now) {
+            while (!accepted.isEmpty() && accepted.peekFirst() <= now - windowMillis) {
+                accepted.removeFirst();
+            }
+            while (!backgroundGranted.isEmpty() && backgroundGranted.peekFirst() <= now - windowMillis) {
+                backgroundGranted.removeFirst();
+            }
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package com.reliaquest.api.utils;
+
+import com.reliaquest.api.entity.SchedulerStatistics;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decides when upstream requests may be sent while the request budget is scarce, most important first.
+ *
+ * <p>Every attempt {@link RetryUtility} makes passes through here in one of three priorities: reads on behalf of users
+ * are {@link Priority#INTERACTIVE_READ}, creates and deletes are {@link Priority#WRITE}, and reads made in the
+ * background, such as prefetch and snapshot revalidation, are {@link Priority#BACKGROUND}. A request is dispatched
+ * right away while {@link UpstreamBudget#headroom(String)} of its upstream allows it and no request to the same
+ * upstream of the same or a higher priority is waiting. Otherwise it queues, and queues are served strictly by
+ * priority, in arrival order within one. Requests to different upstreams never wait for each other. Background
+ * requests never take the last request of the window, except for the single probe sent once a lockout should be
+ * over.
+ *
+ * <p>Each priority has a deadline, counted from the first attempt so that retries after a 429 share it. A request
+ * still queued at its deadline, or one that the expected lockout outlasts, is shed with {@link UpstreamShedException}
+ * instead of being sent late, so user requests fail fast during a lockout rather than holding a thread through it.
+ */
+@Slf4j
+@Component
+public class UpstreamScheduler {
+
+    public enum Priority {
+        INTERACTIVE_READ,
+        WRITE,
+        BACKGROUND
+    }
+
+    // The budget frees up by time passing as well as by requests completing, and only the latter signals waiters.
+    private static final long RECHECK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final int WAIT_SAMPLES = 1024;
+
+    private final UpstreamBudget budget;
+    private final Map<Priority, Duration> deadlines = new EnumMap<>(Priority.class);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final Map<Priority, Lane> lanes = new EnumMap<>(Priority.class); // guarded by lock
+
+    public UpstreamScheduler(
+            UpstreamBudget budget,
+            @Value("${employee.scheduler.deadline.interactive-read:2s}") Duration interactiveReadDeadline,
+            @Value("${employee.scheduler.deadline.write:10s}") Duration writeDeadline,
+            @Value("${employee.scheduler.deadline.background:1s}") Duration backgroundDeadline) {
+        this.budget = budget;
+        deadlines.put(Priority.INTERACTIVE_READ, interactiveReadDeadline);
+        deadlines.put(Priority.WRITE, writeDeadline);
+        deadlines.put(Priority.BACKGROUND, backgroundDeadline);
+        for (Priority priority : Priority.values()) {
+            lanes.put(priority, new Lane());
+        }
+    }
+
+    public Priority classify(HttpRequest request) {
+        if (!"GET".equals(request.method())) {
+            return Priority.WRITE;
+        }
+        return budget.isBackground() ? Priority.BACKGROUND : Priority.INTERACTIVE_READ;
+    }
+
+    /**
+     * @return the {@link System#nanoTime()} by which a request of {@code priority} arriving now has to be dispatched
+     */
+    public long deadlineFor(Priority priority) {
+        return System.nanoTime() + deadlines.get(priority).toNanos();
+    }
+
+    /**
+     * Waits until a request of {@code priority} may be sent to {@code upstream} and records it with the budget as
+     * started. Every call that returns normally must be followed by {@link #release}.
+     *
+     * @param upstream the server the request goes to, see {@link UpstreamBudget#upstreamOf}
+     * @param deadline the {@link System#nanoTime()} by which the request has to be dispatched
+     * @throws UpstreamShedException if it cannot be dispatched by then
+     */
+    public void acquire(String upstream, Priority priority, long deadline)
+            throws UpstreamShedException, InterruptedException {
+        long arrived = System.nanoTime();
+        Ticket ticket = new Ticket(upstream);
+        lock.lock();
+        try {
+            Lane lane = lanes.get(priority);
+            lane.queue.addLast(ticket);
+            try {
+                while (!isNext(priority, ticket) || budget.headroom(upstream) < required(upstream, priority)) {
+                    lane.peakQueued = Math.max(lane.peakQueued, lane.queue.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0 || budget.getLockoutRemaining(upstream).toNanos() > remaining) {
+                        lane.shed++;
+                        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - arrived);
+                        log.debug("Shedding {} upstream request after {} ms", priority, waitedMillis);
+                        throw new UpstreamShedException(
+                                "Upstream request shed after waiting " + waitedMillis + " ms for the request budget",
+                                budget.getLockoutRemaining(upstream));
+                    }
+                    changed.awaitNanos(Math.min(remaining, RECHECK_NANOS));
+                }
+                budget.onRequestStarted(upstream);
+                lane.dispatched(System.nanoTime() - arrived);
+            } finally {
+                lane.queue.remove(ticket);
+                // Whoever is next in line may be able to go now.
+                changed.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records the completion of a request dispatched by {@link #acquire}.
+     *
+     * @param status the response status, or {@code -1} if no response was received
+     */
+    public void release(String upstream, int status) {
+        budget.onRequestCompleted(upstream, status);
+        lock.lock();
+        try {
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<SchedulerStatistics> getStatistics() {
+        lock.lock();
+        try {
+            List<SchedulerStatistics> statistics = new ArrayList<>();
+            for (Priority priority : Priority.values()) {
+                Lane lane = lanes.get(priority);
+                statistics.add(new SchedulerStatistics(
+                        priority.name(),
+                        deadlines.get(priority).toMillis(),
+                        lane.queue.size(),
+                        lane.peakQueued,
+                        lane.dispatched,
+                        lane.shed,
+                        lane.dispatched > 0 ? lane.totalWaitNanos / 1e6 / lane.dispatched : 0,
+                        lane.p99WaitNanos() / 1e6,
+                        lane.maxWaitNanos / 1e6));
+            }
+            return statistics;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /*
+     * Whether no request to the same upstream is ahead of the ticket: queued with a higher priority, or earlier with
+     * the same one. Queues are short, so scanning them beats keeping a set of lanes per upstream.
+     */
+    private boolean isNext(Priority priority, Ticket ticket) {
+        for (Priority higher : Priority.values()) {
+            for (Ticket queued : lanes.get(higher).queue) {
+                if (queued == ticket) {
+                    return true;
+                }
+                if (queued.upstream.equals(ticket.upstream)) {
+                    return false;
+                }
+            }
+            if (higher == priority) {
+                break;
+            }
+        }
+        throw new IllegalStateException("Ticket not queued at " + priority);
+    }
+
+    /*
+     * The probe after a lockout is the only request allowed, and background work has to be able to send it as well.
+     */
+    private int required(String upstream, Priority priority) {
+        return priority == Priority.BACKGROUND && !budget.isProbeDue(upstream) ? 2 : 1;
+    }
+
+    /*
+     * Compared by identity, so that two requests to the same upstream stay two places in line.
+     */
+    private static final class Ticket {
+
+        private final String upstream;
+
+        private Ticket(String upstream) {
+            this.upstream = upstream;
+        }
+    }
+
+    private static final class Lane {
+
+        private final Deque<Ticket> queue = new ArrayDeque<>();
+        private final long[] recentWaitNanos = new long[WAIT_SAMPLES];
+        private int peakQueued;
+        private long dispatched;
+        private long shed;
+        private long totalWaitNanos;
+        private long maxWaitNanos;
+
+        private void dispatched(long waitNanos) {
+            recentWaitNanos[(int) (dispatched % WAIT_SAMPLES)] = waitNanos;
+            dispatched++;
+            totalWaitNanos += waitNanos;
+            maxWaitNanos = Math.max(maxWaitNanos, waitNanos);
+        }
+
+        private long p99WaitNanos() {
+            int samples = (int) Math.min(dispatched, WAIT_SAMPLES);
+            if (samples == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(recentWaitNanos, samples);
+            Arrays.sort(sorted);
+            return sorted[(int) Math.ceil(samples * 0.99) - 1];
+        }
+    }
+}
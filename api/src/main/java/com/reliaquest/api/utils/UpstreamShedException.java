@@ -0,0 +1,27 @@
+package com.reliaquest.api.utils;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Thrown instead of sending an upstream request that {@link UpstreamScheduler} could not dispatch before its deadline.
+ * Nothing was sent, so the request is safe to repeat.
+ */
+public class UpstreamShedException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Duration retryAfter;
+
+    /**
+     * @param retryAfter how much longer the upstream is expected to stay locked out, zero if it is not
+     */
+    public UpstreamShedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,285 @@
+package com.reliaquest.api.writebehind;
+
+import com.reliaquest.api.entity.CreateEmployeeRequest;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of accepted creates, so that a create acknowledged with 202 survives a crash until it has been
+ * pushed upstream.
+ *
+ * <p>Every record is framed as its length, the body and a CRC32 of the body. A body is a type byte and the tracking id,
+ * followed for {@code ENQUEUED} records by the enqueue time and the create request; {@code COMPLETED} records carry
+ * nothing else. Opening the file replays it into the creates still pending and cuts off a torn or corrupt tail left by
+ * a crash mid-append. {@link #sync} forces appends to disk with group commit: one {@code fsync} covers every append
+ * made before it started, so concurrent writers share the cost. Once mostly completed records remain, {@link #compact}
+ * rewrites the pending ones to a temporary sibling, moves it into place atomically and forces the directory, so that
+ * a crash cannot bring back the old log without the creates appended to the new one since.
+ */
+public final class CreateQueueFile implements Closeable {
+
+    private static final byte ENQUEUED = 1;
+    private static final byte COMPLETED = 2;
+    private static final int MAX_BODY_BYTES = 1 << 20;
+    private static final int NULL_STRING = -1;
+
+    public record Entry(UUID id, long enqueuedAtMillis, CreateEmployeeRequest request) {}
+
+    private final Path path;
+    private final List<Entry> recovered;
+    private final Object syncLock = new Object();
+
+    // Guarded by this; only replaced by compact, which also holds syncLock.
+    private FileChannel channel;
+    private long size;
+
+    // Guarded by syncLock.
+    private long synced;
+
+    private CreateQueueFile(Path path, FileChannel channel, long size, List<Entry> recovered) {
+        this.path = path;
+        this.channel = channel;
+        this.size = size;
+        this.synced = size;
+        this.recovered = recovered;
+    }
+
+    public static CreateQueueFile open(Path path) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        FileChannel channel = FileChannel.open(
+                path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(channel.size()));
+            while (buffer.hasRemaining() && channel.read(buffer, buffer.position()) >= 0) {
+                // Read the whole log; it stays small because it is compacted.
+            }
+            buffer.flip();
+
+            Map<UUID, Entry> pending = new LinkedHashMap<>();
+            int valid = 0;
+            while (buffer.remaining() >= 4) {
+                int length = buffer.getInt();
+                if (length <= 0 || length > MAX_BODY_BYTES || buffer.remaining() < length + 4) {
+                    break;
+                }
+                ByteBuffer body = buffer.slice(buffer.position(), length);
+                buffer.position(buffer.position() + length);
+                if (crc(body) != buffer.getInt() || !replay(body, pending)) {
+                    break;
+                }
+                valid = buffer.position();
+            }
+            if (valid < channel.size()) {
+                channel.truncate(valid);
+                channel.force(false);
+            }
+            return new CreateQueueFile(path, channel, valid, List.copyOf(pending.values()));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * The creates that were enqueued but not completed when the file was opened, in enqueue order.
+     */
+    public List<Entry> getRecovered() {
+        return recovered;
+    }
+
+    /**
+     * Appends {@code entry} without forcing it to disk.
+     *
+     * @return the offset to pass to {@link #sync} to make the entry durable
+     */
+    public long append(Entry entry) throws IOException {
+        byte[] name = encode(entry.request().getEmployee_name());
+        byte[] title = encode(entry.request().getEmployee_title());
+        ByteBuffer body = ByteBuffer.allocate(1 + 16 + 8 + 4 + 4 + stringBytes(name) + stringBytes(title));
+        putId(body.put(ENQUEUED), entry.id())
+                .putLong(entry.enqueuedAtMillis())
+                .putInt(entry.request().getEmployee_salary())
+                .putInt(entry.request().getEmployee_age());
+        putString(body, name);
+        putString(body, title);
+        return write(body.flip());
+    }
+
+    /**
+     * Appends a record marking {@code id} as no longer pending, without forcing it to disk. Losing it in a crash only
+     * means the create is recovered as pending again.
+     */
+    public long appendCompleted(UUID id) throws IOException {
+        ByteBuffer body = ByteBuffer.allocate(1 + 16);
+        putId(body.put(COMPLETED), id);
+        return write(body.flip());
+    }
+
+    /**
+     * Returns once everything appended up to {@code offset} is on disk.
+     */
+    public void sync(long offset) throws IOException {
+        synchronized (syncLock) {
+            if (synced >= offset) {
+                return;
+            }
+            FileChannel current;
+            long target;
+            synchronized (this) {
+                current = channel;
+                target = size;
+            }
+            current.force(false);
+            synced = target;
+        }
+    }
+
+    public synchronized long size() {
+        return size;
+    }
+
+    /**
+     * Replaces the log with one holding only {@code pending}, which must be every create not yet completed.
+     */
+    public void compact(Collection<Entry> pending) throws IOException {
+        synchronized (syncLock) {
+            synchronized (this) {
+                Path temporary = Files.createTempFile(
+                        path.toAbsolutePath().getParent(), path.getFileName().toString(), ".tmp");
+                try {
+                    CreateQueueFile compacted = new CreateQueueFile(
+                            temporary, FileChannel.open(temporary, StandardOpenOption.WRITE), 0, List.of());
+                    try {
+                        for (Entry entry : pending) {
+                            compacted.append(entry);
+                        }
+                        compacted.channel.force(false);
+                    } finally {
+                        compacted.close();
+                    }
+                    Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } finally {
+                    Files.deleteIfExists(temporary);
+                }
+                syncDirectory(path.toAbsolutePath().getParent());
+                channel.close();
+                channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                size = channel.size();
+                synced = size;
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    /*
+     * The rename is only durable once the directory entry is. Where a directory cannot be opened for reading, as on
+     * Windows, that is left to the file system.
+     */
+    private static void syncDirectory(Path directory) throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(directory, StandardOpenOption.READ);
+        } catch (IOException e) {
+            return;
+        }
+        try (channel) {
+            channel.force(true);
+        }
+    }
+
+    private synchronized long write(ByteBuffer body) throws IOException {
+        int crc = crc(body);
+        ByteBuffer record = ByteBuffer.allocate(4 + body.remaining() + 4);
+        record.putInt(body.remaining()).put(body).putInt(crc).flip();
+        long position = size;
+        while (record.hasRemaining()) {
+            position += channel.write(record, position);
+        }
+        size = position;
+        return position;
+    }
+
+    private static boolean replay(ByteBuffer body, Map<UUID, Entry> pending) {
+        try {
+            return replayRecord(body, pending);
+        } catch (BufferUnderflowException e) {
+            return false;
+        }
+    }
+
+    private static boolean replayRecord(ByteBuffer body, Map<UUID, Entry> pending) {
+        byte type = body.get();
+        UUID id = new UUID(body.getLong(), body.getLong());
+        if (type == COMPLETED) {
+            pending.remove(id);
+            return true;
+        }
+        if (type != ENQUEUED) {
+            return false;
+        }
+        long enqueuedAtMillis = body.getLong();
+        int salary = body.getInt();
+        int age = body.getInt();
+        String name = getString(body);
+        String title = getString(body);
+        pending.put(id, new Entry(id, enqueuedAtMillis, new CreateEmployeeRequest(name, salary, age, title)));
+        return true;
+    }
+
+    private static ByteBuffer putId(ByteBuffer buffer, UUID id) {
+        return buffer.putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits());
+    }
+
+    private static byte[] encode(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private static int stringBytes(byte[] value) {
+        return 4 + (value != null ? value.length : 0);
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putInt(NULL_STRING);
+        } else {
+            buffer.putInt(value.length).put(value);
+        }
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length == NULL_STRING) {
+            return null;
+        }
+        if (length < 0 || length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static int crc(ByteBuffer body) {
+        CRC32 crc = new CRC32();
+        crc.update(body.duplicate());
+        return (int) crc.getValue();
+    }
+}
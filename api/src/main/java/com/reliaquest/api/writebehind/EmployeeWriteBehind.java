@@ -0,0 +1,289 @@
+package com.reliaquest.api.writebehind;
+
+import com.reliaquest.api.entity.CreateEmployeeRequest;
+import com.reliaquest.api.entity.Employee;
+import com.reliaquest.api.entity.PendingCreate;
+import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.shard.ShardRouter;
+import com.reliaquest.api.utils.UpstreamBudget;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Accepts creates without waiting for the rate-limited upstream.
+ *
+ * <p>A create is validated, appended to a {@link CreateQueueFile} and acknowledged once the record is on disk. A
+ * scheduled drainer then pushes queued creates upstream strictly in order, up to {@code batch-size} per run and only
+ * while {@link UpstreamBudget} expects the shard the next create goes to to accept it, so a lockout pauses the queue instead of blocking
+ * request threads. Throttling and server errors leave the create at the head of the queue for the next run; other
+ * errors, or running out of attempts, fail it. Delivery is at least once: a crash between the upstream create and its
+ * completion record re-sends it after restart. Outcomes of the latest {@code retain-completed} creates are kept in
+ * memory for the status endpoint.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "employee.write-behind.enabled", havingValue = "true")
+public class EmployeeWriteBehind {
+
+    private final EmployeeService employeeService;
+    private final UpstreamBudget budget;
+    private final ShardRouter shardRouter;
+    private final CreateQueueFile file;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final int maxPending;
+    private final int retainCompleted;
+    private final long compactAfterBytes;
+
+    // All state below is guarded by this.
+    private final Deque<Item> queue = new ArrayDeque<>();
+    private final Deque<Item> completed = new ArrayDeque<>();
+    private final Map<UUID, Item> items = new HashMap<>();
+    private long nextSequence;
+    private long compactedSize;
+
+    public EmployeeWriteBehind(
+            EmployeeService employeeService,
+            UpstreamBudget budget,
+            ShardRouter shardRouter,
+            @Value("${employee.write-behind.file:${java.io.tmpdir}/employee-api/create-queue.log}") Path path,
+            @Value("${employee.write-behind.batch-size:10}") int batchSize,
+            @Value("${employee.write-behind.max-attempts:20}") int maxAttempts,
+            @Value("${employee.write-behind.max-pending:100000}") int maxPending,
+            @Value("${employee.write-behind.retain-completed:10000}") int retainCompleted,
+            @Value("${employee.write-behind.compact-after:4MB}") DataSize compactAfter)
+            throws IOException {
+        this.employeeService = employeeService;
+        this.budget = budget;
+        this.shardRouter = shardRouter;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.maxPending = maxPending;
+        this.retainCompleted = retainCompleted;
+        this.compactAfterBytes = compactAfter.toBytes();
+        this.file = CreateQueueFile.open(path);
+        for (CreateQueueFile.Entry entry : file.getRecovered()) {
+            Item item = new Item(entry, nextSequence++);
+            queue.addLast(item);
+            items.put(entry.id(), item);
+        }
+        compactedSize = file.size();
+        if (!queue.isEmpty()) {
+            log.info("Recovered {} queued creates from {}", queue.size(), path);
+        }
+    }
+
+    /**
+     * Queues {@code request} and returns once it is durable.
+     *
+     * @throws IllegalArgumentException if the upstream would reject the request
+     * @throws IllegalStateException if {@code max-pending} creates are already queued
+     */
+    public PendingCreate enqueue(CreateEmployeeRequest request) throws IOException {
+        validate(request);
+        Item item;
+        long offset;
+        synchronized (this) {
+            if (queue.size() >= maxPending) {
+                throw new IllegalStateException("Write-behind queue is full with " + queue.size() + " creates");
+            }
+            CreateQueueFile.Entry entry =
+                    new CreateQueueFile.Entry(UUID.randomUUID(), System.currentTimeMillis(), request);
+            offset = file.append(entry);
+            item = new Item(entry, nextSequence++);
+            queue.addLast(item);
+            items.put(entry.id(), item);
+        }
+        file.sync(offset);
+        synchronized (this) {
+            return toPendingCreate(item);
+        }
+    }
+
+    /**
+     * @return the progress of the create with tracking id {@code id}, or {@code null} if it is unknown or completed
+     *     longer ago than the retained outcomes reach
+     */
+    public synchronized PendingCreate getStatus(String id) {
+        try {
+            Item item = items.get(UUID.fromString(id));
+            return item != null ? toPendingCreate(item) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    public synchronized int getQueued() {
+        return queue.size();
+    }
+
+    @Scheduled(fixedDelayString = "${employee.write-behind.drain-interval:PT1S}")
+    public void drain() {
+        for (int sent = 0; sent < batchSize && hasHeadroomForCreate(); sent++) {
+            Item item;
+            synchronized (this) {
+                item = queue.peekFirst();
+                if (item == null) {
+                    break;
+                }
+            }
+            CreateEmployeeRequest request = item.entry.request();
+            ResponseEntity<Employee> response = budget.runInBackground(() -> employeeService.createEmployee(request));
+            if (isShed(response)) {
+                log.debug("Queued create {} was shed by the scheduler, retrying on a later run", item.entry.id());
+                break;
+            }
+            synchronized (this) {
+                item.attempts++;
+            }
+            int status = response.getStatusCode().value();
+            if (status == HttpStatus.OK.value() && response.getBody() != null) {
+                complete(item, PendingCreate.State.CREATED, status, response.getBody());
+            } else if (isRetriable(status) && item.attempts < maxAttempts) {
+                synchronized (this) {
+                    item.status = status;
+                }
+                log.debug("Queued create {} got {} upstream, retrying on a later run", item.entry.id(), status);
+                break;
+            } else {
+                log.warn(
+                        "Dropping queued create {} after {} attempts, upstream answered {}",
+                        item.entry.id(),
+                        item.attempts,
+                        status);
+                complete(item, PendingCreate.State.FAILED, status, null);
+            }
+        }
+        compactIfNeeded();
+    }
+
+    /*
+     * Asks about the shard the create would actually go to, so one locked out shard does not hold back creates that
+     * ShardRouter would send elsewhere.
+     */
+    private boolean hasHeadroomForCreate() {
+        return budget.headroom(UpstreamBudget.upstreamOf(URI.create(shardRouter.peekUrlForCreate()))) > 0;
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        file.close();
+    }
+
+    private void complete(Item item, PendingCreate.State state, int status, Employee employee) {
+        synchronized (this) {
+            queue.pollFirst();
+            item.state = state;
+            item.status = status;
+            item.employee = employee;
+            completed.addLast(item);
+            while (completed.size() > retainCompleted) {
+                items.remove(completed.pollFirst().entry.id());
+            }
+        }
+        try {
+            file.sync(file.appendCompleted(item.entry.id()));
+        } catch (IOException e) {
+            log.warn("Failed to record completion of queued create {}: {}", item.entry.id(), e.getMessage());
+        }
+    }
+
+    /*
+     * Rewrites the log once it is empty of pending creates, or has doubled since it last held only pending ones. Holding
+     * the lock keeps enqueues from appending to the file being replaced.
+     */
+    private synchronized void compactIfNeeded() {
+        long size = file.size();
+        boolean drained = queue.isEmpty() && size > 0;
+        if (!drained && size < Math.max(compactAfterBytes, 2 * compactedSize)) {
+            return;
+        }
+        try {
+            List<CreateQueueFile.Entry> pending = queue.stream().map(item -> item.entry).toList();
+            file.compact(pending);
+            compactedSize = file.size();
+            log.debug("Compacted create queue from {} to {} bytes", size, compactedSize);
+        } catch (IOException e) {
+            log.warn("Failed to compact create queue: {}", e.getMessage());
+        }
+    }
+
+    private PendingCreate toPendingCreate(Item item) {
+        Integer position = item.state == PendingCreate.State.QUEUED
+                ? (int) (item.sequence - queue.getFirst().sequence)
+                : null;
+        return new PendingCreate(
+                item.entry.id().toString(),
+                item.state,
+                position,
+                item.attempts,
+                item.status,
+                Instant.ofEpochMilli(item.entry.enqueuedAtMillis()),
+                item.employee);
+    }
+
+    /*
+     * Shed requests never reached the upstream, so they do not use up an attempt.
+     */
+    private static boolean isShed(ResponseEntity<?> response) {
+        return response.getStatusCode() == HttpStatus.SERVICE_UNAVAILABLE
+                && response.getHeaders().containsKey(HttpHeaders.RETRY_AFTER);
+    }
+
+    private static boolean isRetriable(int status) {
+        return status == HttpStatus.TOO_MANY_REQUESTS.value()
+                || status == HttpStatus.REQUEST_TIMEOUT.value()
+                || status >= 500;
+    }
+
+    /*
+     * Mirrors the upstream's validation, so that accepted creates do not fail only once they are drained.
+     */
+    private static void validate(CreateEmployeeRequest request) {
+        if (request.getEmployee_name() == null || request.getEmployee_name().isBlank()) {
+            throw new IllegalArgumentException("name must not be blank");
+        }
+        if (request.getEmployee_title() == null || request.getEmployee_title().isBlank()) {
+            throw new IllegalArgumentException("title must not be blank");
+        }
+        if (request.getEmployee_salary() <= 0) {
+            throw new IllegalArgumentException("salary must be greater than zero");
+        }
+        if (request.getEmployee_age() < 16 || request.getEmployee_age() > 75) {
+            throw new IllegalArgumentException("age must be between 16 and 75");
+        }
+    }
+
+    private static final class Item {
+
+        private final CreateQueueFile.Entry entry;
+        private final long sequence;
+        private PendingCreate.State state = PendingCreate.State.QUEUED;
+        private int attempts;
+        private Integer status;
+        private Employee employee;
+
+        private Item(CreateQueueFile.Entry entry, long sequence) {
+            this.entry = entry;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -3,7 +3,7 @@ package com.reliaquest.api;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "employee.snapshot.enabled=false")
 class ApiApplicationTest {
 
     @Test
@@ -0,0 +1,142 @@
+package com.reliaquest.api;
+
+import com.reliaquest.api.entity.Employee;
+import com.reliaquest.api.entity.EmployeeLookup;
+import com.reliaquest.api.service.EmployeeBatchLookup;
+import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.store.EmployeeStore;
+import com.reliaquest.api.store.EmployeeStoreFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeBatchLookupTest {
+
+    private static final Employee ALICE = new Employee("1", "Alice", 50000, 30, "Engineer", "alice@xyz.com-fake");
+    private static final Employee BOB = new Employee("2", "Bob", 70000, 35, "Manager", "bob@xyz.com-fake");
+
+    @Mock
+    private EmployeeService employeeService;
+
+    @TempDir
+    Path directory;
+
+    private EmployeeBatchLookup batchLookup;
+
+    @BeforeEach
+    void setUp() {
+        batchLookup = new EmployeeBatchLookup(employeeService, 2, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        batchLookup.shutdown();
+    }
+
+    @Test
+    void testAnswersFromFreshSnapshotWithoutFurtherRequests() throws Exception {
+        when(employeeService.getEmployeeStore()).thenAnswer(invocation -> ResponseEntity.ok(EmployeeStore.of(List.of(ALICE, BOB))));
+
+        List<EmployeeLookup> lookups = batchLookup.lookup(List.of("2", "x", "1", "2"));
+
+        assertEquals(List.of("2", "x", "1"), lookups.stream().map(EmployeeLookup::getId).toList());
+        assertEquals(BOB, lookups.get(0).getEmployee());
+        assertEquals(HttpStatus.NOT_FOUND.value(), lookups.get(1).getStatus());
+        assertNull(lookups.get(1).getEmployee());
+        assertEquals(ALICE, lookups.get(2).getEmployee());
+        verify(employeeService, never()).getEmployeeById(anyString());
+    }
+
+    @Test
+    void testFansOutFewMissesOfCachedSnapshot() throws Exception {
+        EmployeeStore cached = cachedStore(List.of(ALICE));
+        when(employeeService.getEmployeeStore()).thenReturn(ResponseEntity.ok(cached));
+        when(employeeService.getEmployeeById("2")).thenReturn(ResponseEntity.ok(BOB));
+
+        List<EmployeeLookup> lookups = batchLookup.lookup(List.of("1", "2"));
+
+        assertEquals(ALICE, lookups.get(0).getEmployee());
+        assertEquals(BOB, lookups.get(1).getEmployee());
+        verify(employeeService, never()).refreshEmployeeStore();
+    }
+
+    @Test
+    void testRefreshesSnapshotOnceForManyMisses() throws Exception {
+        EmployeeStore cached = cachedStore(List.of());
+        when(employeeService.getEmployeeStore()).thenReturn(ResponseEntity.ok(cached));
+        when(employeeService.refreshEmployeeStore()).thenReturn(ResponseEntity.ok(EmployeeStore.of(List.of(ALICE, BOB))));
+
+        List<EmployeeLookup> lookups = batchLookup.lookup(List.of("1", "2", "3"));
+
+        assertEquals(List.of(200, 200, 404), lookups.stream().map(EmployeeLookup::getStatus).toList());
+        verify(employeeService, never()).getEmployeeById(anyString());
+    }
+
+    @Test
+    void testReportsUpstreamFailurePerId() throws Exception {
+        when(employeeService.getEmployeeStore()).thenReturn(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build());
+        when(employeeService.getEmployeeById("1")).thenReturn(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build());
+
+        List<EmployeeLookup> lookups = batchLookup.lookup(List.of("1"));
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS.value(), lookups.get(0).getStatus());
+    }
+
+    @Test
+    void testCancelsOutstandingLookupsWhenInterrupted() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        when(employeeService.getEmployeeStore()).thenReturn(ResponseEntity.ok(cachedStore(List.of())));
+        when(employeeService.getEmployeeById("1")).thenAnswer(invocation -> {
+            started.countDown();
+            try {
+                Thread.sleep(Long.MAX_VALUE);
+            } catch (InterruptedException e) {
+                cancelled.countDown();
+            }
+            return null;
+        });
+
+        Thread caller = new Thread(() -> {
+            try {
+                batchLookup.lookup(List.of("1"));
+            } catch (InterruptedException expected) {
+            }
+        });
+        caller.start();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        caller.interrupt();
+
+        assertTrue(cancelled.await(5, TimeUnit.SECONDS));
+        caller.join(5000);
+    }
+
+    /*
+     * A snapshot loaded before the lookup started, as if restored from a checkpoint.
+     */
+    private EmployeeStore cachedStore(List<Employee> employees) throws Exception {
+        Path file = directory.resolve("store.bin");
+        EmployeeStoreFile.write(EmployeeStore.of(employees), "http://localhost:8112/api/v1/employee", file);
+        return EmployeeStoreFile.read(file, "http://localhost:8112/api/v1/employee");
+    }
+}
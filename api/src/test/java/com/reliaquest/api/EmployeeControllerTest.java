@@ -4,6 +4,7 @@ import com.reliaquest.api.controller.EmployeeController;
 import com.reliaquest.api.entity.CreateEmployeeRequest;
 import com.reliaquest.api.entity.Employee;
 import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.store.EmployeeStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,11 +14,14 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -50,6 +54,24 @@ class EmployeeControllerTest {
         assertEquals(3, Objects.requireNonNull(response.getBody()).size());
     }
 
+    @Test
+    void testGetEmployeesByIds_RejectsBlankIds() {
+        ResponseEntity<?> response = employeeController.getEmployeesByIds(Arrays.asList("1", null));
+        ResponseEntity<?> blank = employeeController.getEmployeesByIds(List.of("1", " "));
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST, blank.getStatusCode());
+    }
+
+    @Test
+    void testGetSalaryStatistics_RejectsPercentilesOutOfRange() {
+        assertEquals(HttpStatus.BAD_REQUEST,
+                employeeController.getSalaryStatistics(new double[] {50, 101}, 10).getStatusCode());
+        assertEquals(HttpStatus.BAD_REQUEST,
+                employeeController.getSalaryStatistics(new double[] {Double.NaN}, 10).getStatusCode());
+        verify(employeeService, never()).getEmployeeStore();
+    }
+
     @Test
     void testGetEmployeeById_Found() {
         Employee mock = mockEmployees.get(0);
@@ -82,7 +104,7 @@ class EmployeeControllerTest {
 
     @Test
     void testGetHighestSalaryOfEmployees() {
-        when(employeeService.getAllEmployees()).thenReturn(ResponseEntity.ok(mockEmployees));
+        when(employeeService.getEmployeeStore()).thenReturn(ResponseEntity.ok(EmployeeStore.of(mockEmployees)));
 
         ResponseEntity<Integer> response = employeeController.getHighestSalaryOfEmployees();
 
@@ -92,7 +114,7 @@ class EmployeeControllerTest {
 
     @Test
     void testGetTopTenHighestEarningEmployeeNames() {
-        when(employeeService.getAllEmployees()).thenReturn(ResponseEntity.ok(mockEmployees));
+        when(employeeService.getEmployeeStore()).thenReturn(ResponseEntity.ok(EmployeeStore.of(mockEmployees)));
 
         ResponseEntity<List<String>> response = employeeController.getTopTenHighestEarningEmployeeNames();
 
@@ -115,21 +137,19 @@ class EmployeeControllerTest {
 
     @Test
     void testDeleteEmployeeById_Success() {
-        Employee employee = mockEmployees.get(1);
-
-        when(employeeService.getEmployeeById("2")).thenReturn(ResponseEntity.ok(employee));
-        when(employeeService.deleteEmployeeByName(employee.getName()))
-                .thenReturn(ResponseEntity.ok(true));
+        when(employeeService.deleteEmployee("2")).thenReturn(ResponseEntity.ok(mockEmployees.get(1)));
 
         ResponseEntity<String> response = employeeController.deleteEmployeeById("2");
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals("Bob", response.getBody());
+        verify(employeeService, never()).getEmployeeStore();
+        verify(employeeService, never()).getEmployeeById(any());
     }
 
     @Test
     void testDeleteEmployeeById_EmployeeNotFound() {
-        when(employeeService.getEmployeeById("99")).thenReturn(ResponseEntity.status(HttpStatus.NOT_FOUND).body(null));
+        when(employeeService.deleteEmployee("99")).thenReturn(ResponseEntity.status(HttpStatus.NOT_FOUND).body(null));
 
         ResponseEntity<String> response = employeeController.deleteEmployeeById("99");
 
@@ -0,0 +1,108 @@
+package com.reliaquest.api;
+
+import com.reliaquest.api.cache.ResponseEntityCacheManager;
+import com.reliaquest.api.config.EmployeeCacheProperties;
+import com.reliaquest.api.entity.Employee;
+import com.reliaquest.api.service.EmployeeServiceImpl;
+import com.reliaquest.api.shard.ShardRouter;
+import com.reliaquest.api.store.EmployeeStore;
+import com.reliaquest.api.utils.RetryUtility;
+import com.reliaquest.api.utils.UpstreamBudget;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeServiceImplTest {
+
+    private static final String URL = "http://localhost:8112/api/v1/employee";
+    private static final String BOB_ID = "4a3a170b-22cd-4ac2-aad1-9bb5b34a1507";
+    private static final Employee BOB = new Employee(BOB_ID, "Bob", 60000, 28, "Engineer", "bob@company.com");
+
+    @Mock
+    private RetryUtility retryUtility;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private HttpResponse<String> deleted;
+
+    @Mock
+    private HttpResponse<String> methodNotAllowed;
+
+    private final ShardRouter shardRouter = new ShardRouter(
+            URL, List.of(), new UpstreamBudget(Duration.ofSeconds(60), 5, Duration.ofSeconds(30)));
+    private final CacheManager cacheManager = new ResponseEntityCacheManager(new EmployeeCacheProperties());
+    private EmployeeServiceImpl employeeService;
+
+    @BeforeEach
+    void setUp() {
+        employeeService = new EmployeeServiceImpl(
+                retryUtility, eventPublisher, shardRouter, cacheManager, new EmployeeCacheProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        shardRouter.shutdown();
+    }
+
+    @Test
+    void testDeletesByIdInOneRequest() throws Exception {
+        when(deleted.statusCode()).thenReturn(200);
+        when(deleted.body()).thenReturn("{\"data\":{\"id\":\"" + BOB_ID + "\",\"employee_name\":\"Bob\"},"
+                + "\"status\":\"Successfully processed request.\"}");
+        when(retryUtility.sendRequestWithRetry(any(), any())).thenReturn(deleted);
+
+        ResponseEntity<Employee> response = employeeService.deleteEmployee(BOB_ID);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("Bob", response.getBody().getName());
+        ArgumentCaptor<HttpRequest> requests = ArgumentCaptor.forClass(HttpRequest.class);
+        verify(retryUtility).sendRequestWithRetry(requests.capture(), any());
+        assertEquals("DELETE", requests.getValue().method());
+        assertEquals(URL + "/" + BOB_ID, requests.getValue().uri().toString());
+    }
+
+    /*
+     * Without the by-id route the name comes from the already cached store, not from another upstream lookup. Deletes
+     * by name may remove another employee of the same name, so the store is evicted rather than patched.
+     */
+    @Test
+    void testFallsBackToDeleteByNameFromCachedStore() throws Exception {
+        cacheManager.getCache("employeeStore").put(SimpleKey.EMPTY, ResponseEntity.ok(EmployeeStore.of(List.of(BOB))));
+        when(methodNotAllowed.statusCode()).thenReturn(405);
+        when(deleted.statusCode()).thenReturn(200);
+        when(retryUtility.sendRequestWithRetry(any(), any())).thenReturn(methodNotAllowed).thenReturn(deleted);
+
+        ResponseEntity<Employee> response = employeeService.deleteEmployee(BOB_ID);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(BOB, response.getBody());
+        ArgumentCaptor<HttpRequest> requests = ArgumentCaptor.forClass(HttpRequest.class);
+        verify(retryUtility, times(2)).sendRequestWithRetry(requests.capture(), any());
+        assertEquals(URL, requests.getAllValues().get(1).uri().toString());
+        assertNull(cacheManager.getCache("employeeStore").get(SimpleKey.EMPTY));
+    }
+}
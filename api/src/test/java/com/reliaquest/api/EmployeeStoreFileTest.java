@@ -0,0 +1,73 @@
+package com.reliaquest.api;
+
+import com.reliaquest.api.entity.Employee;
+import com.reliaquest.api.store.EmployeeStore;
+import com.reliaquest.api.store.EmployeeStoreFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmployeeStoreFileTest {
+
+    private static final String ALICE_ID = "4a3a170b-22cd-4ac2-aad1-9bb5b34a1507";
+    private static final String UPSTREAM = "http://localhost:8112/api/v1/employee";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRoundTripsStoreAsStale() throws IOException {
+        List<Employee> employees = List.of(
+                new Employee(ALICE_ID, "Alice", 50000, 30, "Engineer", "alice@company.com"),
+                new Employee("2", "Bj\u00f8rn", 70000, 35, "Engineer", null));
+        EmployeeStore store = EmployeeStore.of(employees);
+        Path file = directory.resolve("store.bin");
+
+        EmployeeStoreFile.write(store, UPSTREAM, file);
+        EmployeeStore restored = EmployeeStoreFile.read(file, UPSTREAM);
+
+        assertFalse(store.isStale());
+        assertTrue(restored.isStale());
+        assertEquals(employees, restored.toEmployees());
+        assertEquals(store.getFetchedAt(), restored.getFetchedAt());
+        assertEquals(1, restored.indexOf("2"));
+        assertEquals(0, restored.indexOf(ALICE_ID));
+    }
+
+    @Test
+    void testRejectsCorruptFile() throws IOException {
+        Path file = directory.resolve("store.bin");
+        EmployeeStoreFile.write(
+                EmployeeStore.of(List.of(new Employee(ALICE_ID, "Alice", 50000, 30, "Engineer", "alice@company.com"))),
+                UPSTREAM,
+                file);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(file, bytes);
+
+        assertThrows(IOException.class, () -> EmployeeStoreFile.read(file, UPSTREAM));
+    }
+
+    @Test
+    void testIgnoresSnapshotOfAnotherUpstream() throws IOException {
+        Path file = directory.resolve("store.bin");
+        EmployeeStoreFile.write(
+                EmployeeStore.of(List.of(new Employee(ALICE_ID, "Alice", 50000, 30, "Engineer", "alice@company.com"))),
+                UPSTREAM,
+                file);
+
+        assertNull(EmployeeStoreFile.read(file, "http://localhost:8113/api/v1/employee"));
+        assertNotNull(EmployeeStoreFile.read(file, UPSTREAM));
+    }
+}
@@ -0,0 +1,88 @@
+package com.reliaquest.api;
+
+import com.reliaquest.api.entity.Employee;
+import com.reliaquest.api.store.EmployeeStore;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EmployeeStoreTest {
+
+    private static final String ALICE_ID = "4a3a170b-22cd-4ac2-aad1-9bb5b34a1507";
+
+    @Test
+    void testRoundTripsEmployees() {
+        List<Employee> employees = List.of(
+                new Employee(ALICE_ID, "Alice", 50000, 30, "Engineer", "alice@company.com"),
+                new Employee("2", "Bob", 70000, 35, "Engineer", "bob@company.com"));
+
+        EmployeeStore store = EmployeeStore.of(employees);
+
+        assertEquals(employees, store.toEmployees());
+    }
+
+    @Test
+    void testIndexOfUuidAndIrregularIds() {
+        EmployeeStore store = EmployeeStore.of(List.of(
+                new Employee(ALICE_ID, "Alice", 50000, 30, "Engineer", "alice@company.com"),
+                new Employee("2", "Bob", 70000, 35, "Manager", "bob@company.com")));
+
+        assertEquals(0, store.indexOf(ALICE_ID));
+        assertEquals(1, store.indexOf("2"));
+        assertEquals(-1, store.indexOf(UUID.randomUUID().toString()));
+        assertEquals(-1, store.indexOf(ALICE_ID.toUpperCase()));
+        assertEquals(-1, store.indexOf(null));
+    }
+
+    @Test
+    void testWithoutRemovesRowAndReindexes() {
+        EmployeeStore store = EmployeeStore.of(List.of(
+                new Employee(ALICE_ID, "Alice", 50000, 30, "Engineer", "alice@company.com"),
+                new Employee("2", "Bob", 70000, 35, "Manager", "bob@company.com"),
+                new Employee("3", "Carol", 60000, 40, "Engineer", "carol@company.com")));
+
+        EmployeeStore remaining = store.without(1);
+
+        assertEquals(List.of(store.get(0), store.get(2)), remaining.toEmployees());
+        assertEquals(-1, remaining.indexOf("2"));
+        assertEquals(1, remaining.indexOf("3"));
+        assertEquals(0, remaining.indexOf(ALICE_ID));
+        assertEquals(store.getFetchedAt(), remaining.getFetchedAt());
+        assertEquals(3, store.size());
+    }
+
+    @Test
+    void testTopBySalaryMatchesSortedOrder() {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            employees.add(new Employee(UUID.randomUUID().toString(), "Employee " + i, (i * 7919) % 997, 30, "Title", null));
+        }
+        EmployeeStore store = EmployeeStore.of(employees);
+
+        int[] expected = IntStream.range(0, employees.size())
+                .boxed()
+                .sorted((a, b) -> Double.compare(employees.get(b).getSalary(), employees.get(a).getSalary()))
+                .limit(10)
+                .mapToInt(Integer::intValue)
+                .toArray();
+
+        assertArrayEquals(expected, store.topBySalary(10));
+        assertEquals(employees.get(expected[0]).getSalary(), store.maxSalary());
+    }
+
+    @Test
+    void testTopBySalaryOnSmallStore() {
+        EmployeeStore store = EmployeeStore.of(List.of(
+                new Employee("1", "Alice", 50000, 30, "Engineer", null),
+                new Employee("2", "Bob", 70000, 35, "Manager", null)));
+
+        assertArrayEquals(new int[] {1, 0}, store.topBySalary(10));
+        assertArrayEquals(new int[0], EmployeeStore.of(List.of()).topBySalary(10));
+    }
+}
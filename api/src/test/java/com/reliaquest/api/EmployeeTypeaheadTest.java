@@ -0,0 +1,103 @@
+package com.reliaquest.api;
+
+import com.reliaquest.api.entity.Employee;
+import com.reliaquest.api.event.EmployeeCreatedEvent;
+import com.reliaquest.api.event.EmployeeDeletedEvent;
+import com.reliaquest.api.search.EmployeeTypeahead;
+import com.reliaquest.api.store.EmployeeStore;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmployeeTypeaheadTest {
+
+    private static final String[] FIRST = {"Ann", "Anna", "Annabel", "Andrew", "Bob", "Bobby", "Zo\u00eb", "Zoran"};
+    private static final String[] LAST = {"Smith", "Smythe", "Anders", "O'Brien", "Brown", "Bronson"};
+
+    private final EmployeeTypeahead typeahead = new EmployeeTypeahead(5);
+
+    @Test
+    void testNormalizesAndRanksBySalary() {
+        typeahead.rebuild(EmployeeStore.of(List.of(
+                employee("1", "Zo\u00eb O'Brien", 50000),
+                employee("2", "Zoran Smith", 70000),
+                employee("3", "Bob Smith", 60000))));
+
+        assertEquals(List.of("2", "1"), ids(typeahead.suggest("zo", 10)));
+        assertEquals(List.of("1"), ids(typeahead.suggest("ZOE", 10)));
+        assertEquals(List.of("1"), ids(typeahead.suggest("brie", 10)));
+        assertEquals(List.of("2", "3"), ids(typeahead.suggest("smi", 10)));
+        assertEquals(List.of("3"), ids(typeahead.suggest("smith bo", 10)));
+        assertEquals(List.of(), typeahead.suggest("smith smi", 10));
+        assertEquals(List.of(), typeahead.suggest("x", 10));
+        assertEquals(List.of(), typeahead.suggest(" ", 10));
+    }
+
+    @Test
+    void testMatchesBruteForceThroughCreatesAndDeletes() {
+        Random random = new Random(7);
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            employees.add(randomEmployee(random));
+        }
+        typeahead.rebuild(EmployeeStore.of(employees));
+
+        for (int step = 0; step < 600; step++) {
+            if (random.nextBoolean() && !employees.isEmpty()) {
+                Employee removed = employees.remove(random.nextInt(employees.size()));
+                typeahead.onEmployeeDeleted(new EmployeeDeletedEvent(removed));
+            } else {
+                Employee created = randomEmployee(random);
+                employees.add(created);
+                typeahead.onEmployeeCreated(new EmployeeCreatedEvent(created));
+            }
+            if (step % 20 == 0) {
+                for (String prefix : List.of("a", "an", "ann", "anna", "annab", "b", "bo", "bob", "bobby", "z", "zo", "s", "sm", "smy", "o", "br")) {
+                    assertEquals(bruteForce(employees, prefix, 5), ids(typeahead.suggest(prefix, 5)), prefix);
+                }
+            }
+        }
+        while (!employees.isEmpty()) {
+            typeahead.onEmployeeDeleted(new EmployeeDeletedEvent(employees.remove(0)));
+        }
+        assertTrue(typeahead.suggest("a", 5).isEmpty());
+    }
+
+    private static List<String> bruteForce(List<Employee> employees, String prefix, int limit) {
+        return employees.stream()
+                .filter(employee -> List.of(employee.getName()
+                                .replace("\u00eb", "e")
+                                .replace("'", " ")
+                                .toLowerCase(Locale.ROOT)
+                                .split(" "))
+                        .stream()
+                        .anyMatch(token -> token.startsWith(prefix)))
+                .sorted(Comparator.comparingDouble(Employee::getSalary)
+                        .reversed()
+                        .thenComparing(Employee::getId))
+                .limit(limit)
+                .map(Employee::getId)
+                .toList();
+    }
+
+    private static Employee randomEmployee(Random random) {
+        String name = FIRST[random.nextInt(FIRST.length)] + " " + LAST[random.nextInt(LAST.length)];
+        return employee(UUID.randomUUID().toString(), name, 30000 + random.nextInt(50) * 1000);
+    }
+
+    private static Employee employee(String id, String name, double salary) {
+        return new Employee(id, name, salary, 30, "Engineer", null);
+    }
+
+    private static List<String> ids(List<Employee> employees) {
+        return employees.stream().map(Employee::getId).toList();
+    }
+}
@@ -0,0 +1,196 @@
+package com.reliaquest.api;
+
+import com.reliaquest.api.entity.CreateEmployeeRequest;
+import com.reliaquest.api.entity.Employee;
+import com.reliaquest.api.entity.PendingCreate;
+import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.shard.ShardRouter;
+import com.reliaquest.api.utils.UpstreamBudget;
+import com.reliaquest.api.writebehind.CreateQueueFile;
+import com.reliaquest.api.writebehind.EmployeeWriteBehind;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeWriteBehindTest {
+
+    private static final CreateEmployeeRequest ALICE = new CreateEmployeeRequest("Alice", 50000, 30, "Engineer");
+    private static final CreateEmployeeRequest BJORN = new CreateEmployeeRequest("Bj\u00f8rn", 70000, 35, "Manager");
+
+    @Mock
+    private EmployeeService employeeService;
+
+    @TempDir
+    Path directory;
+
+    private final UpstreamBudget budget = new UpstreamBudget(Duration.ofMinutes(1), 100, Duration.ofSeconds(30));
+    private final ShardRouter shardRouter = new ShardRouter("http://a", List.of("http://a", "http://b"), budget);
+
+    @Test
+    void testRecoversPendingCreatesAndDropsTornTail() throws IOException {
+        Path path = directory.resolve("queue.log");
+        CreateQueueFile.Entry alice = new CreateQueueFile.Entry(UUID.randomUUID(), 1, ALICE);
+        CreateQueueFile.Entry bjorn = new CreateQueueFile.Entry(UUID.randomUUID(), 2, BJORN);
+        long valid;
+        try (CreateQueueFile file = CreateQueueFile.open(path)) {
+            file.append(alice);
+            file.append(bjorn);
+            file.appendCompleted(alice.id());
+            valid = file.append(alice);
+            file.sync(valid);
+        }
+        Files.write(path, new byte[] {0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        try (CreateQueueFile file = CreateQueueFile.open(path)) {
+            assertEquals(List.of(bjorn, alice), file.getRecovered());
+            assertEquals(valid, Files.size(path));
+
+            file.compact(List.of(alice));
+            assertTrue(Files.size(path) < valid);
+        }
+        try (CreateQueueFile file = CreateQueueFile.open(path)) {
+            assertEquals(List.of(alice), file.getRecovered());
+        }
+    }
+
+    @Test
+    void testDrainsInOrderAndKeepsThrottledCreateAtHead() throws IOException {
+        Employee alice = new Employee("1", "Alice", 50000, 30, "Engineer", "alice@company.com");
+        Employee bjorn = new Employee("2", "Bj\u00f8rn", 70000, 35, "Manager", "bjorn@company.com");
+        when(employeeService.createEmployee(ALICE)).thenReturn(ResponseEntity.ok(alice));
+        when(employeeService.createEmployee(BJORN))
+                .thenReturn(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(null))
+                .thenReturn(ResponseEntity.ok(bjorn));
+        EmployeeWriteBehind writeBehind = writeBehind();
+
+        PendingCreate first = writeBehind.enqueue(ALICE);
+        PendingCreate second = writeBehind.enqueue(BJORN);
+        assertEquals(PendingCreate.State.QUEUED, second.getState());
+        assertEquals(1, second.getPosition());
+
+        writeBehind.drain();
+        assertEquals(PendingCreate.State.CREATED, writeBehind.getStatus(first.getId()).getState());
+        assertEquals(alice, writeBehind.getStatus(first.getId()).getEmployee());
+        PendingCreate throttled = writeBehind.getStatus(second.getId());
+        assertEquals(PendingCreate.State.QUEUED, throttled.getState());
+        assertEquals(0, throttled.getPosition());
+        assertEquals(429, throttled.getStatus());
+
+        writeBehind.drain();
+        assertEquals(PendingCreate.State.CREATED, writeBehind.getStatus(second.getId()).getState());
+        assertEquals(2, writeBehind.getStatus(second.getId()).getAttempts());
+        assertEquals(0, writeBehind.getQueued());
+        assertEquals(0, Files.size(directory.resolve("queue.log")));
+        writeBehind.close();
+    }
+
+    @Test
+    void testShedCreatesDoNotUseUpAttempts() throws IOException {
+        Employee alice = new Employee("1", "Alice", 50000, 30, "Engineer", "alice@company.com");
+        ResponseEntity<Employee> shed = ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .body(null);
+        when(employeeService.createEmployee(ALICE))
+                .thenReturn(shed)
+                .thenReturn(shed)
+                .thenReturn(shed)
+                .thenReturn(shed)
+                .thenReturn(shed)
+                .thenReturn(shed)
+                .thenReturn(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(null))
+                .thenReturn(ResponseEntity.ok(alice));
+        EmployeeWriteBehind writeBehind = writeBehind();
+        PendingCreate pending = writeBehind.enqueue(ALICE);
+
+        for (int i = 0; i < 6; i++) {
+            writeBehind.drain();
+        }
+        assertEquals(PendingCreate.State.QUEUED, writeBehind.getStatus(pending.getId()).getState());
+        assertEquals(0, writeBehind.getStatus(pending.getId()).getAttempts());
+
+        writeBehind.drain();
+        assertEquals(503, writeBehind.getStatus(pending.getId()).getStatus());
+        writeBehind.drain();
+        assertEquals(PendingCreate.State.CREATED, writeBehind.getStatus(pending.getId()).getState());
+        assertEquals(2, writeBehind.getStatus(pending.getId()).getAttempts());
+        writeBehind.close();
+    }
+
+    @Test
+    void testRedeliversAfterRestartAndRejectsInvalidCreates() throws IOException {
+        EmployeeWriteBehind writeBehind = writeBehind();
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> writeBehind.enqueue(new CreateEmployeeRequest(" ", 1, 30, "Engineer")));
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> writeBehind.enqueue(new CreateEmployeeRequest("Alice", 1, 15, "Engineer")));
+        PendingCreate pending = writeBehind.enqueue(ALICE);
+        writeBehind.close();
+        verify(employeeService, never()).createEmployee(any());
+
+        EmployeeWriteBehind restarted = writeBehind();
+        assertEquals(1, restarted.getQueued());
+        assertEquals(PendingCreate.State.QUEUED, restarted.getStatus(pending.getId()).getState());
+        assertNull(restarted.getStatus("not-a-tracking-id"));
+        restarted.close();
+    }
+
+    @Test
+    void testLockoutOfOneShardDoesNotStallTheQueue() throws IOException {
+        Employee alice = new Employee("1", "Alice", 50000, 30, "Engineer", "alice@company.com");
+        when(employeeService.createEmployee(ALICE)).thenReturn(ResponseEntity.ok(alice));
+        budget.onRequestStarted("http://a");
+        budget.onRequestCompleted("http://a", 429);
+        EmployeeWriteBehind writeBehind = writeBehind();
+        PendingCreate pending = writeBehind.enqueue(ALICE);
+
+        writeBehind.drain();
+        assertEquals(PendingCreate.State.CREATED, writeBehind.getStatus(pending.getId()).getState());
+        assertEquals("http://b", shardRouter.peekUrlForCreate());
+        writeBehind.close();
+    }
+
+    @AfterEach
+    void tearDown() {
+        shardRouter.shutdown();
+    }
+
+    private EmployeeWriteBehind writeBehind() throws IOException {
+        return new EmployeeWriteBehind(
+                employeeService,
+                budget,
+                shardRouter,
+                directory.resolve("queue.log"),
+                10,
+                5,
+                100,
+                100,
+                DataSize.ofKilobytes(64));
+    }
+}
@@ -0,0 +1,59 @@
+package com.reliaquest.api;
+
+import com.reliaquest.api.cache.ResponseEntityCacheManager;
+import com.reliaquest.api.config.EmployeeCacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ResponseEntityCacheTest {
+
+    private Cache cache;
+
+    @BeforeEach
+    void setUp() {
+        EmployeeCacheProperties properties = new EmployeeCacheProperties();
+        properties.setCaches(Map.of(
+                "employeeById",
+                new EmployeeCacheProperties.Spec(2L, null, null, null, Duration.ofMinutes(1), true)));
+        cache = new ResponseEntityCacheManager(properties).getCache("employeeById");
+    }
+
+    @Test
+    void testCachesSuccessfulResponses() {
+        cache.put("1", ResponseEntity.ok("Alice"));
+
+        assertEquals(ResponseEntity.ok("Alice"), cache.get("1", ResponseEntity.class));
+    }
+
+    @Test
+    void testCachesNotFoundInNegativeCache() {
+        cache.put("1", ResponseEntity.status(HttpStatus.NOT_FOUND).body(null));
+
+        ResponseEntity<?> cached = cache.get("1", ResponseEntity.class);
+        assertNotNull(cached);
+        assertEquals(HttpStatus.NOT_FOUND, cached.getStatusCode());
+
+        cache.put("1", ResponseEntity.ok("Alice"));
+        assertEquals(HttpStatus.OK, cache.get("1", ResponseEntity.class).getStatusCode());
+    }
+
+    @Test
+    void testDoesNotCacheTransientErrors() {
+        cache.put("1", ResponseEntity.ok("Alice"));
+        cache.put("1", ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(null));
+        cache.put("2", ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null));
+
+        assertEquals(ResponseEntity.ok("Alice"), cache.get("1", ResponseEntity.class));
+        assertNull(cache.get("2"));
+    }
+}
@@ -0,0 +1,73 @@
+package com.reliaquest.api;
+
+import com.reliaquest.api.entity.Employee;
+import com.reliaquest.api.entity.SalaryGroup;
+import com.reliaquest.api.stats.Grouping;
+import com.reliaquest.api.stats.SalaryGroupAggregator;
+import com.reliaquest.api.store.EmployeeStore;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SalaryGroupAggregatorTest {
+
+    private final SalaryGroupAggregator aggregator = new SalaryGroupAggregator();
+
+    @Test
+    void testGroupByTitleMatchesSequentialComputation() {
+        Random random = new Random(11);
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            employees.add(new Employee(
+                    UUID.randomUUID().toString(),
+                    "Employee " + i,
+                    30_000 + random.nextInt(470_000),
+                    16 + random.nextInt(60),
+                    "Title " + random.nextInt(25),
+                    null));
+        }
+        EmployeeStore store = EmployeeStore.of(employees);
+
+        List<SalaryGroup> groups = aggregator.aggregate(store, Grouping.byTitle(store), 3);
+
+        Map<String, List<Employee>> expected = employees.stream().collect(Collectors.groupingBy(Employee::getTitle));
+        assertEquals(expected.size(), groups.size());
+        for (SalaryGroup group : groups) {
+            List<Employee> members = expected.get(group.getGroup());
+            assertEquals(members.size(), group.getCount());
+            assertEquals(members.stream().mapToDouble(Employee::getSalary).sum(), group.getSum(), 1e-3);
+            assertEquals(members.stream().mapToDouble(Employee::getSalary).max().orElseThrow(), group.getMax());
+            assertEquals(members.stream().mapToDouble(Employee::getSalary).min().orElseThrow(), group.getMin());
+            assertEquals(
+                    members.stream()
+                            .sorted(Comparator.comparingDouble(Employee::getSalary).reversed())
+                            .limit(3)
+                            .map(Employee::getSalary)
+                            .toList(),
+                    group.getTopEarners().stream().map(Employee::getSalary).toList());
+        }
+    }
+
+    @Test
+    void testGroupByAgeBand() {
+        EmployeeStore store = EmployeeStore.of(List.of(
+                new Employee("1", "Alice", 50000, 24, "Engineer", null),
+                new Employee("2", "Bob", 70000, 35, "Manager", null),
+                new Employee("3", "Charlie", 40000, 28, "Analyst", null)));
+
+        List<SalaryGroup> groups = aggregator.aggregate(store, Grouping.byAgeBand(store, 10), 1);
+
+        assertEquals(List.of("20-29", "30-39"), groups.stream().map(SalaryGroup::getGroup).toList());
+        assertEquals(2, groups.get(0).getCount());
+        assertEquals(45000, groups.get(0).getAverage());
+        assertEquals("Alice", groups.get(0).getTopEarners().get(0).getName());
+    }
+}
@@ -0,0 +1,79 @@
+package com.reliaquest.api;
+
+import com.reliaquest.api.entity.Employee;
+import com.reliaquest.api.entity.SalaryStats;
+import com.reliaquest.api.event.EmployeeCreatedEvent;
+import com.reliaquest.api.event.EmployeeDeletedEvent;
+import com.reliaquest.api.event.EmployeeStoreRefreshedEvent;
+import com.reliaquest.api.stats.SalaryStatistics;
+import com.reliaquest.api.store.EmployeeStore;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SalaryStatisticsTest {
+
+    private static final double RELATIVE_ACCURACY = 0.01;
+
+    @Test
+    void testPercentilesWithinRelativeError() {
+        Random random = new Random(7);
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            employees.add(employee(String.valueOf(i), 30_000 + random.nextInt(470_000)));
+        }
+        SalaryStatistics statistics = new SalaryStatistics(RELATIVE_ACCURACY);
+        statistics.onStoreRefreshed(new EmployeeStoreRefreshedEvent(EmployeeStore.of(employees)));
+
+        SalaryStats stats = statistics.snapshot(new double[] {50, 99, 99.9}, 10);
+
+        double[] sorted = employees.stream().mapToDouble(Employee::getSalary).sorted().toArray();
+        assertWithinRelativeError(sorted[(int) (0.5 * (sorted.length - 1))], stats.getPercentiles().get("p50"));
+        assertWithinRelativeError(sorted[(int) (0.99 * (sorted.length - 1))], stats.getPercentiles().get("p99"));
+        assertWithinRelativeError(sorted[(int) (0.999 * (sorted.length - 1))], stats.getPercentiles().get("p99.9"));
+        assertWithinRelativeError(sorted[sorted.length - 1], stats.getMax());
+        assertEquals(Arrays.stream(sorted).average().orElseThrow(), stats.getMean(), 1e-6);
+        assertEquals(10_000, stats.getHistogram().stream().mapToLong(SalaryStats.Bucket::getCount).sum());
+    }
+
+    @Test
+    void testIncrementalCreateAndDelete() {
+        SalaryStatistics statistics = new SalaryStatistics(RELATIVE_ACCURACY);
+        assertFalse(statistics.isInitialized());
+        assertNull(statistics.snapshot(new double[] {50}, 0));
+
+        statistics.rebuild(EmployeeStore.of(List.of(employee("1", 100), employee("2", 300))));
+        assertTrue(statistics.isInitialized());
+
+        statistics.onEmployeeCreated(new EmployeeCreatedEvent(employee("3", 200)));
+        SalaryStats afterCreate = statistics.snapshot(new double[] {50}, 0);
+        assertEquals(3, afterCreate.getCount());
+        assertEquals(200, afterCreate.getMean(), 1e-9);
+        assertEquals(Math.sqrt(20_000.0 / 3), afterCreate.getStandardDeviation(), 1e-9);
+        assertWithinRelativeError(200, afterCreate.getPercentiles().get("p50"));
+
+        statistics.onEmployeeDeleted(new EmployeeDeletedEvent(employee("2", 300)));
+        SalaryStats afterDelete = statistics.snapshot(new double[] {50}, 0);
+        assertEquals(2, afterDelete.getCount());
+        assertEquals(150, afterDelete.getMean(), 1e-9);
+        assertWithinRelativeError(200, afterDelete.getMax());
+    }
+
+    private static void assertWithinRelativeError(double expected, double actual) {
+        assertTrue(
+                Math.abs(actual - expected) <= RELATIVE_ACCURACY * expected,
+                () -> "expected " + actual + " to be within " + RELATIVE_ACCURACY + " of " + expected);
+    }
+
+    private static Employee employee(String id, double salary) {
+        return new Employee(id, "Employee " + id, salary, 30, "Engineer", null);
+    }
+}
@@ -0,0 +1,102 @@
+package com.reliaquest.api;
+
+import com.reliaquest.api.shard.ShardRouter;
+import com.reliaquest.api.utils.UpstreamBudget;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ShardRouterTest {
+
+    private static final List<String> URLS = List.of("http://a", "http://b", "http://c");
+
+    private final UpstreamBudget budget = new UpstreamBudget(Duration.ofSeconds(60), 5, Duration.ofSeconds(30));
+    private final ShardRouter router = new ShardRouter("http://default", URLS, budget);
+
+    @AfterEach
+    void tearDown() {
+        router.shutdown();
+    }
+
+    @Test
+    void testSingleShardUsesBaseUrl() {
+        ShardRouter single = new ShardRouter("http://default", List.of(), budget);
+
+        assertEquals(1, single.shardCount());
+        assertEquals("http://default", single.urlFor(UUID.randomUUID().toString()));
+        assertEquals("http://default", single.urlForCreate());
+    }
+
+    @Test
+    void testCreatesRotateAndSkipShardsWithoutHeadroom() {
+        assertEquals("http://a", router.peekUrlForCreate());
+        assertEquals("http://a", router.urlForCreate());
+        assertEquals("http://b", router.urlForCreate());
+
+        budget.onRequestStarted("http://c");
+        budget.onRequestCompleted("http://c", 429);
+        assertEquals("http://a", router.peekUrlForCreate());
+        assertEquals("http://a", router.urlForCreate());
+    }
+
+    @Test
+    void testRoutesIdsToOwningShard() {
+        UUID id = UUID.fromString("4a3a170b-22cd-4ac2-aad1-9bb5b34a1507");
+
+        assertEquals(URLS.get(ShardRouter.shardOf(id, 3)), router.urlFor(id.toString()));
+        assertEquals("http://a", router.urlFor("not-a-uuid"));
+    }
+
+    @Test
+    void testSpreadsEvenlyAndMovesOnlyToNewShard() {
+        List<UUID> ids = IntStream.range(0, 30000).mapToObj(i -> UUID.randomUUID()).toList();
+        int[] counts = new int[4];
+        for (UUID id : ids) {
+            int before = ShardRouter.shardOf(id, 3);
+            int after = ShardRouter.shardOf(id, 4);
+            assertTrue(after == before || after == 3, "id moved between existing shards");
+            counts[after]++;
+        }
+        for (int count : counts) {
+            assertEquals(7500, count, 500);
+        }
+    }
+
+    /*
+     * The mock server decides which ids it owns with its own copy of the hash; ShardTest in the server module checks
+     * the same table, so the two cannot drift apart unnoticed.
+     */
+    @Test
+    void testMatchesServerShardAssignment() {
+        int[] counts = {2, 3, 5, 8, 16};
+        Map<String, int[]> expected = Map.of(
+                "ba419d35-0dfe-4af7-aee7-bbe10c45c028", new int[] {1, 2, 2, 2, 15},
+                "4f083ce3-f12b-4b4b-86ee-9d82b52c856d", new int[] {0, 0, 4, 4, 4},
+                "aa616abe-1761-4c9a-a743-67bd738597dc", new int[] {1, 2, 4, 6, 6},
+                "5e688e99-61b3-4c88-8697-6cf7b0bfbe20", new int[] {0, 2, 2, 2, 15},
+                "76b20010-c318-4754-886c-400eff88a1e3", new int[] {1, 2, 2, 6, 6},
+                "bff9d9d5-ee3d-4852-a2f6-0bdbcc5c8305", new int[] {1, 1, 3, 3, 3},
+                "2d68ad16-268a-478c-9827-50f4569b5949", new int[] {0, 2, 4, 4, 4});
+
+        expected.forEach((id, shards) -> {
+            for (int i = 0; i < counts.length; i++) {
+                assertEquals(shards[i], ShardRouter.shardOf(UUID.fromString(id), counts[i]), id + " of " + counts[i]);
+            }
+        });
+    }
+
+    @Test
+    void testScatterReturnsResultsInShardOrder() throws Exception {
+        List<String> results = router.scatter(url -> url + "/employee");
+
+        assertEquals(List.of("http://a/employee", "http://b/employee", "http://c/employee"), results);
+    }
+}
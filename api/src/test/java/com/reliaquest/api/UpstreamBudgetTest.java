@@ -0,0 +1,161 @@
+package com.reliaquest.api;
+
+import com.reliaquest.api.utils.UpstreamBudget;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UpstreamBudgetTest {
+
+    private static final Duration NO_YIELD = Duration.ZERO;
+    private static final String SHARD_A = "http://localhost:8112";
+    private static final String SHARD_B = "http://localhost:8113";
+
+    private final MutableClock clock = new MutableClock();
+    private final UpstreamBudget budget =
+            new UpstreamBudget(Duration.ofSeconds(60), 8, Duration.ofSeconds(30), clock);
+
+    @Test
+    void testBackgroundGetsOnlyItsShare() {
+        assertTrue(budget.tryAcquireBackground(0.25, NO_YIELD));
+        assertTrue(budget.tryAcquireBackground(0.25, NO_YIELD));
+        assertFalse(budget.tryAcquireBackground(0.25, NO_YIELD));
+
+        clock.advance(Duration.ofSeconds(61));
+        assertTrue(budget.tryAcquireBackground(0.25, NO_YIELD));
+    }
+
+    @Test
+    void testYieldsToUserRequests() {
+        budget.onRequestStarted(SHARD_A);
+        assertFalse(budget.tryAcquireBackground(1, NO_YIELD));
+
+        budget.onRequestCompleted(SHARD_A, 200);
+        assertFalse(budget.tryAcquireBackground(1, Duration.ofSeconds(1)));
+
+        clock.advance(Duration.ofSeconds(2));
+        assertTrue(budget.tryAcquireBackground(1, Duration.ofSeconds(1)));
+    }
+
+    @Test
+    void testLearnsLimitAndLockoutFrom429() {
+        for (int i = 0; i < 3; i++) {
+            request(200);
+        }
+        request(429);
+
+        assertEquals(3, budget.getEstimatedLimit(SHARD_A));
+        assertTrue(budget.isLockedOut(SHARD_A));
+        assertFalse(budget.tryAcquireBackground(1, NO_YIELD));
+
+        // The first probe finds the upstream still locked out, the next one 5 seconds later does not.
+        clock.advance(Duration.ofSeconds(30));
+        assertEquals(1, budget.headroom(SHARD_A));
+        request(429);
+        assertTrue(budget.isLockedOut(SHARD_A));
+        clock.advance(Duration.ofSeconds(5));
+        request(200);
+
+        assertFalse(budget.isLockedOut(SHARD_A));
+        assertTrue(budget.tryAcquireBackground(1, NO_YIELD));
+        budget.runInBackground(() -> {
+            request(200);
+            return null;
+        });
+        assertFalse(budget.tryAcquireBackground(1, NO_YIELD));
+
+        request(429);
+        assertEquals(Duration.ofSeconds(35), budget.getLockoutRemaining(SHARD_A));
+    }
+
+    @Test
+    void testIdleTimeDoesNotLengthenLockout() {
+        request(200);
+        request(429);
+
+        clock.advance(Duration.ofMinutes(10));
+        request(200);
+        request(429);
+
+        assertEquals(Duration.ofSeconds(30), budget.getLockoutRemaining(SHARD_A));
+    }
+
+    @Test
+    void testSendsOneProbeAndCapsLockout() {
+        request(200);
+        request(429);
+        clock.advance(Duration.ofSeconds(30));
+
+        budget.onRequestStarted(SHARD_A);
+        assertEquals(0, budget.headroom(SHARD_A));
+        budget.onRequestCompleted(SHARD_A, 429);
+
+        // Probes keep failing for ten minutes.
+        for (int i = 0; i < 114; i++) {
+            clock.advance(budget.getLockoutRemaining(SHARD_A));
+            request(429);
+        }
+        clock.advance(budget.getLockoutRemaining(SHARD_A));
+        request(200);
+        request(429);
+
+        assertEquals(Duration.ofMinutes(2), budget.getLockoutRemaining(SHARD_A));
+    }
+
+    @Test
+    void testTracksEachUpstreamOnItsOwn() {
+        request(SHARD_A, 200);
+        request(SHARD_B, 200);
+        request(SHARD_B, 200);
+        request(SHARD_A, 429);
+
+        assertTrue(budget.isLockedOut(SHARD_A));
+        assertEquals(0, budget.headroom(SHARD_A));
+        assertFalse(budget.isLockedOut(SHARD_B));
+        assertEquals(Integer.MAX_VALUE, budget.headroom(SHARD_B));
+        assertEquals(0, budget.headroom());
+        assertEquals(Duration.ofSeconds(30), budget.getLockoutRemaining());
+        assertFalse(budget.tryAcquireBackground(1, NO_YIELD));
+    }
+
+    private void request(int status) {
+        request(SHARD_A, status);
+    }
+
+    private void request(String upstream, int status) {
+        budget.onRequestStarted(upstream);
+        budget.onRequestCompleted(upstream, status);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.reliaquest.api;
+
+import com.reliaquest.api.entity.SchedulerStatistics;
+import com.reliaquest.api.utils.UpstreamBudget;
+import com.reliaquest.api.utils.UpstreamScheduler;
+import com.reliaquest.api.utils.UpstreamScheduler.Priority;
+import com.reliaquest.api.utils.UpstreamShedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UpstreamSchedulerTest {
+
+    private static final String UPSTREAM = "http://localhost:8112";
+
+    private final MutableClock clock = new MutableClock();
+    private final UpstreamBudget budget = new UpstreamBudget(Duration.ofSeconds(60), 2, Duration.ofSeconds(30), clock);
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void testDispatchesByPriorityWhenBudgetIsScarce() throws Exception {
+        UpstreamScheduler scheduler = scheduler(Duration.ofMinutes(1));
+        request(200);
+        request(200);
+        request(429);
+
+        List<Priority> dispatched = new CopyOnWriteArrayList<>();
+        for (Priority priority : List.of(Priority.BACKGROUND, Priority.WRITE, Priority.INTERACTIVE_READ)) {
+            executor.submit(() -> {
+                scheduler.acquire(UPSTREAM, priority, scheduler.deadlineFor(priority));
+                dispatched.add(priority);
+                return null;
+            });
+            await(() -> statistics(scheduler, priority).getQueued() == 1);
+        }
+
+        // The lockout passes; the probe goes first, and once it succeeds the upstream accepts requests again.
+        clock.advance(Duration.ofSeconds(31));
+        await(() -> dispatched.size() == 1);
+        assertEquals(List.of(Priority.INTERACTIVE_READ), dispatched);
+        assertEquals(1, statistics(scheduler, Priority.WRITE).getQueued());
+
+        scheduler.release(UPSTREAM, 200);
+        await(() -> dispatched.size() == 2);
+        assertEquals(List.of(Priority.INTERACTIVE_READ, Priority.WRITE), dispatched);
+        assertEquals(1, statistics(scheduler, Priority.BACKGROUND).getQueued());
+
+        // Background work leaves the last request of the window to users.
+        scheduler.release(UPSTREAM, 200);
+        TimeUnit.MILLISECONDS.sleep(200);
+        assertEquals(2, dispatched.size());
+
+        clock.advance(Duration.ofSeconds(61));
+        await(() -> dispatched.size() == 3);
+        SchedulerStatistics background = statistics(scheduler, Priority.BACKGROUND);
+        assertEquals(0, background.getQueued());
+        assertEquals(1, background.getPeakQueued());
+        assertEquals(1, background.getDispatched());
+        assertTrue(background.getMaxWaitMillis() >= 200);
+    }
+
+    @Test
+    void testShedsRequestsThatCannotBeSentBeforeTheirDeadline() throws Exception {
+        UpstreamScheduler scheduler = scheduler(Duration.ofMillis(100));
+        request(200);
+        request(200);
+        request(429);
+
+        // The expected lockout outlasts even a 20 second deadline, so the request is shed without waiting for it.
+        Future<?> shed = executor.submit(() -> {
+            scheduler.acquire(UPSTREAM, Priority.INTERACTIVE_READ, System.nanoTime() + TimeUnit.SECONDS.toNanos(20));
+            return null;
+        });
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> shed.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(UpstreamShedException.class, failure.getCause());
+        assertEquals(1, statistics(scheduler, Priority.INTERACTIVE_READ).getShed());
+
+        clock.advance(Duration.ofSeconds(31));
+        request(200);
+        long started = System.nanoTime();
+        assertThrows(
+                UpstreamShedException.class,
+                () -> scheduler.acquire(UPSTREAM, Priority.BACKGROUND, scheduler.deadlineFor(Priority.BACKGROUND)));
+        assertTrue(System.nanoTime() - started >= TimeUnit.MILLISECONDS.toNanos(100));
+
+        scheduler.acquire(UPSTREAM, Priority.INTERACTIVE_READ, scheduler.deadlineFor(Priority.INTERACTIVE_READ));
+        scheduler.release(UPSTREAM, 200);
+        assertEquals(1, statistics(scheduler, Priority.INTERACTIVE_READ).getDispatched());
+        assertEquals(1, statistics(scheduler, Priority.BACKGROUND).getShed());
+        assertEquals(0, budget.headroom(UPSTREAM));
+    }
+
+    @Test
+    void testLockoutOfOneUpstreamDoesNotHoldBackAnother() throws Exception {
+        UpstreamScheduler scheduler = scheduler(Duration.ofMinutes(1));
+        String other = "http://localhost:8113";
+        request(200);
+        request(200);
+        request(429);
+
+        executor.submit(() -> {
+            scheduler.acquire(UPSTREAM, Priority.INTERACTIVE_READ, scheduler.deadlineFor(Priority.INTERACTIVE_READ));
+            return null;
+        });
+        await(() -> statistics(scheduler, Priority.INTERACTIVE_READ).getQueued() == 1);
+
+        // Dispatched while the request to the locked out upstream is still queued ahead of it.
+        scheduler.acquire(other, Priority.INTERACTIVE_READ, scheduler.deadlineFor(Priority.INTERACTIVE_READ));
+        scheduler.release(other, 200);
+        SchedulerStatistics interactive = statistics(scheduler, Priority.INTERACTIVE_READ);
+        assertEquals(1, interactive.getDispatched());
+        assertEquals(1, interactive.getQueued());
+        assertEquals(0, interactive.getShed());
+    }
+
+    private UpstreamScheduler scheduler(Duration deadline) {
+        return new UpstreamScheduler(budget, deadline, deadline, deadline);
+    }
+
+    private void request(int status) {
+        budget.onRequestStarted(UPSTREAM);
+        budget.onRequestCompleted(UPSTREAM, status);
+    }
+
+    private static SchedulerStatistics statistics(UpstreamScheduler scheduler, Priority priority) {
+        return scheduler.getStatistics().get(priority.ordinal());
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "condition not met within 5 seconds");
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private volatile Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.reliaquest.loadtest;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free log-linear histogram of latencies in microseconds. Every power-of-two range is split into 64 linear
+ * sub-buckets, so reported percentiles are within ~1.6% of the recorded value.
+ */
+final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_MAGNITUDE = 40; // ~12 days in microseconds
+    private static final long MAX_VALUE = (1L << (MAX_MAGNITUDE + 1)) - 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray((MAX_MAGNITUDE - SUB_BUCKET_BITS + 2) * SUB_BUCKETS);
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAccumulator maxValue = new LongAccumulator(Long::max, 0);
+
+    void record(long micros) {
+        final var value = Math.min(Math.max(micros, 0), MAX_VALUE);
+        counts.incrementAndGet(indexOf(value));
+        totalCount.increment();
+        maxValue.accumulate(value);
+    }
+
+    long count() {
+        return totalCount.sum();
+    }
+
+    long max() {
+        return maxValue.get();
+    }
+
+    /**
+     * @param percentile in the range (0, 100]
+     * @return upper bound of the bucket holding the given percentile, or 0 when nothing was recorded
+     */
+    long percentile(double percentile) {
+        final var total = count();
+        if (total == 0) {
+            return 0;
+        }
+        final var target = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int index = 0; index < counts.length(); index++) {
+            seen += counts.get(index);
+            if (seen >= target) {
+                return Math.min(upperBoundOf(index), max());
+            }
+        }
+        return max();
+    }
+
+    private static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        final var shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return (shift * SUB_BUCKETS) + (int) (value >>> shift);
+    }
+
+    private static long upperBoundOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        final var shift = index / SUB_BUCKETS - 1;
+        final long subBucket = index - (long) shift * SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
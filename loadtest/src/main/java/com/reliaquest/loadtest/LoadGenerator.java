@@ -0,0 +1,119 @@
+package com.reliaquest.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drives the configured operation mix either closed-loop (a fixed number of workers issuing requests back to back)
+ * or open-loop (requests issued at a fixed arrival rate regardless of how fast the api answers).
+ */
+@Slf4j
+@RequiredArgsConstructor
+final class LoadGenerator {
+
+    private final LoadTestConfig config;
+    private final HttpClient client;
+    private final Workload workload;
+
+    void run(Duration duration, LoadStatistics statistics, long seed) throws InterruptedException {
+        if (config.isOpenLoop()) {
+            runOpenLoop(duration, statistics, seed);
+        } else {
+            runClosedLoop(duration, statistics, seed);
+        }
+    }
+
+    private void runClosedLoop(Duration duration, LoadStatistics statistics, long seed) throws InterruptedException {
+        final var deadline = System.nanoTime() + duration.toNanos();
+        final ExecutorService workers = Executors.newFixedThreadPool(config.getConcurrency());
+        for (int worker = 0; worker < config.getConcurrency(); worker++) {
+            final var random = new SplittableRandom(seed + worker);
+            workers.execute(() -> {
+                while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                    final var operation = config.getMix().pick(random);
+                    final var request = workload.request(operation, random);
+                    final var start = System.nanoTime();
+                    try {
+                        final var response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                        statistics.recordResponse(operation, response.statusCode(), System.nanoTime() - start);
+                        workload.onResponse(operation, response);
+                    } catch (IOException e) {
+                        statistics.recordFailure(operation, System.nanoTime() - start);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            });
+        }
+        workers.shutdown();
+        if (!workers.awaitTermination(
+                duration.plus(config.getRequestTimeout()).toMillis() + 1000, TimeUnit.MILLISECONDS)) {
+            log.warn("Workers did not finish in time, interrupting");
+            workers.shutdownNow();
+        }
+    }
+
+    /*
+     * Latency is measured from the intended send time, so time spent queued behind a saturated api is included
+     * instead of silently lowering the offered load (coordinated omission).
+     */
+    private void runOpenLoop(Duration duration, LoadStatistics statistics, long seed) throws InterruptedException {
+        final var random = new SplittableRandom(seed);
+        final var intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / config.getRate());
+        final var start = System.nanoTime();
+        final var deadline = start + duration.toNanos();
+        final Set<CompletableFuture<?>> inFlight = ConcurrentHashMap.newKeySet();
+
+        for (long sequence = 0; ; sequence++) {
+            final var intended = start + sequence * intervalNanos;
+            if (intended >= deadline) {
+                break;
+            }
+            final var wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            final var operation = config.getMix().pick(random);
+            final var request = workload.request(operation, random);
+            final CompletableFuture<?> future = client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, failure) -> {
+                        final var latency = System.nanoTime() - intended;
+                        if (failure != null) {
+                            statistics.recordFailure(operation, latency);
+                        } else {
+                            statistics.recordResponse(operation, response.statusCode(), latency);
+                            workload.onResponse(operation, response);
+                        }
+                    });
+            inFlight.add(future);
+            future.whenComplete((ignored, failure) -> inFlight.remove(future));
+        }
+
+        try {
+            CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new))
+                    .exceptionally(ignored -> null)
+                    .get(config.getRequestTimeout().toMillis() + 1000, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            log.warn("{} requests still in flight after the request timeout", inFlight.size());
+        } catch (ExecutionException e) {
+            log.warn("Open-loop request failed: {}", e.getMessage());
+        }
+    }
+}
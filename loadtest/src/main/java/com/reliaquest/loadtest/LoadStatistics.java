@@ -0,0 +1,38 @@
+package com.reliaquest.loadtest;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Per-operation statistics of one measured run, plus an aggregate over all operations.
+ */
+final class LoadStatistics {
+
+    private final Map<Operation, OperationStatistics> operations = new EnumMap<>(Operation.class);
+    private final OperationStatistics total = new OperationStatistics();
+
+    LoadStatistics() {
+        for (Operation operation : Operation.values()) {
+            operations.put(operation, new OperationStatistics());
+        }
+    }
+
+    void recordResponse(Operation operation, int statusCode, long latencyNanos) {
+        operations.get(operation).recordResponse(statusCode, latencyNanos);
+        total.recordResponse(statusCode, latencyNanos);
+    }
+
+    void recordFailure(Operation operation, long latencyNanos) {
+        operations.get(operation).recordFailure(latencyNanos);
+        total.recordFailure(latencyNanos);
+    }
+
+    Map<Operation, OperationStatistics> operations() {
+        return Collections.unmodifiableMap(operations);
+    }
+
+    OperationStatistics total() {
+        return total;
+    }
+}
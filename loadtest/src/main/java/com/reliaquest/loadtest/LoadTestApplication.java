@@ -0,0 +1,45 @@
+package com.reliaquest.loadtest;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.time.Instant;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Entry point of the load test: boots the cluster, seeds the workload, runs an unmeasured warmup followed by the
+ * measured window and writes the report.
+ */
+@Slf4j
+public final class LoadTestApplication {
+
+    private LoadTestApplication() {}
+
+    public static void main(String[] args) throws Exception {
+        final var config = LoadTestConfig.fromArgs(args);
+        log.info("Load test configuration: {}", config.describe());
+
+        try (LocalCluster cluster = LocalCluster.start(config)) {
+            final var client = HttpClient.newBuilder()
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+            final var workload = Workload.seed(client, cluster.getApiBaseUri(), config);
+            final var generator = new LoadGenerator(config, client, workload);
+
+            if (!config.getWarmup().isZero()) {
+                log.info("Warming up for {}", config.getWarmup());
+                generator.run(config.getWarmup(), new LoadStatistics(), config.getSeed() ^ 0x5DEECE66DL);
+            }
+
+            log.info("Measuring for {}", config.getDuration());
+            final var statistics = new LoadStatistics();
+            final var startedAt = Instant.now();
+            final var start = System.nanoTime();
+            generator.run(config.getDuration(), statistics, config.getSeed());
+            final var elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+            final var report = LoadTestReport.from(config, startedAt, elapsedSeconds, statistics);
+            report.writeTo(config.getReport());
+            log.info("Load test finished, report written to {}\n{}", config.getReport(), report.summary());
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.reliaquest.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import lombok.Builder;
+import lombok.Value;
+import org.springframework.boot.convert.DurationStyle;
+
+@Value
+@Builder
+public class LoadTestConfig {
+
+    public static final String DEFAULT_MIX = "getAll:10,search:10,getById:40,highestSalary:15,topTen:15,create:5,delete:5";
+
+    Path serverJar;
+    Path apiJar;
+    Path report;
+
+    int employees;
+    int shards;
+    boolean rateLimitEnabled;
+    int rateLimitRequests;
+    Duration rateLimitBackoff;
+    String faults;
+
+    int concurrency;
+    double rate;
+    Duration warmup;
+    Duration duration;
+    Duration requestTimeout;
+    Duration startupTimeout;
+    OperationMix mix;
+    long seed;
+
+    /**
+     * Reads {@code key=value} arguments, falling back to {@code loadtest.<key>} system properties and then defaults.
+     */
+    public static LoadTestConfig fromArgs(String... args) {
+        final var options = parseArgs(args);
+        return LoadTestConfig.builder()
+                .serverJar(Path.of(required(options, "server-jar")))
+                .apiJar(Path.of(required(options, "api-jar")))
+                .report(Path.of(option(options, "report").orElse("build/loadtest/report.json")))
+                .employees(Integer.parseInt(option(options, "employees").orElse("50")))
+                .shards(Math.max(1, Integer.parseInt(option(options, "shards").orElse("1"))))
+                .rateLimitEnabled(Boolean.parseBoolean(
+                        option(options, "rate-limit.enabled").orElse("true")))
+                .rateLimitRequests(Integer.parseInt(
+                        option(options, "rate-limit.requests").orElse("0")))
+                .rateLimitBackoff(duration(options, "rate-limit.backoff", "0s"))
+                .faults(option(options, "faults").orElse(""))
+                .concurrency(Integer.parseInt(option(options, "concurrency").orElse("16")))
+                .rate(Double.parseDouble(option(options, "rate").orElse("0")))
+                .warmup(duration(options, "warmup", "10s"))
+                .duration(duration(options, "duration", "60s"))
+                .requestTimeout(duration(options, "request-timeout", "60s"))
+                .startupTimeout(duration(options, "startup-timeout", "2m"))
+                .mix(OperationMix.parse(option(options, "mix").orElse(DEFAULT_MIX)))
+                .seed(Long.parseLong(option(options, "seed").orElse("42")))
+                .build();
+    }
+
+    public boolean isOpenLoop() {
+        return rate > 0;
+    }
+
+    /**
+     * Flattened view of the settings written into the report, so runs can be compared and reproduced.
+     */
+    public Map<String, String> describe() {
+        final var description = new LinkedHashMap<String, String>();
+        description.put("api", apiJar.getFileName().toString());
+        description.put("employees", String.valueOf(employees));
+        description.put("shards", String.valueOf(shards));
+        description.put("rate-limit.enabled", String.valueOf(rateLimitEnabled));
+        description.put("rate-limit.requests", rateLimitRequests > 0 ? String.valueOf(rateLimitRequests) : "random");
+        description.put("rate-limit.backoff", rateLimitBackoff.isZero() ? "random" : rateLimitBackoff.toString());
+        description.put("faults", faults.isEmpty() ? "none" : faults);
+        description.put("mode", isOpenLoop() ? "open-loop" : "closed-loop");
+        description.put(isOpenLoop() ? "rate" : "concurrency", isOpenLoop() ? String.valueOf(rate) : String.valueOf(concurrency));
+        description.put("warmup", warmup.toString());
+        description.put("duration", duration.toString());
+        description.put("request-timeout", requestTimeout.toString());
+        description.put("mix", mix.toString());
+        description.put("seed", String.valueOf(seed));
+        return description;
+    }
+
+    static Map<String, String> parseArgs(String... args) {
+        final var options = new HashMap<String, String>();
+        for (String arg : args) {
+            final var separator = arg.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Expected key=value argument but got: " + arg);
+            }
+            options.put(arg.substring(0, separator).replaceFirst("^--", ""), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    static Optional<String> option(Map<String, String> options, String key) {
+        return Optional.ofNullable(options.get(key)).or(() -> Optional.ofNullable(System.getProperty("loadtest." + key)));
+    }
+
+    static String required(Map<String, String> options, String key) {
+        return option(options, key)
+                .orElseThrow(() -> new IllegalArgumentException("Missing required option: " + key));
+    }
+
+    static Duration duration(Map<String, String> options, String key, String defaultValue) {
+        return DurationStyle.detectAndParse(option(options, key).orElse(defaultValue));
+    }
+}
@@ -0,0 +1,91 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public record LoadTestReport(
+        String startedAt,
+        Map<String, String> config,
+        double elapsedSeconds,
+        OperationReport total,
+        Map<String, OperationReport> operations) {
+
+    public static LoadTestReport from(
+            LoadTestConfig config, Instant startedAt, double elapsedSeconds, LoadStatistics statistics) {
+        final var operations = new LinkedHashMap<String, OperationReport>();
+        statistics.operations().forEach((operation, operationStatistics) -> {
+            if (operationStatistics.requests() > 0) {
+                operations.put(operation.getKey(), OperationReport.from(operationStatistics, elapsedSeconds));
+            }
+        });
+        return new LoadTestReport(
+                startedAt.toString(),
+                config.describe(),
+                elapsedSeconds,
+                OperationReport.from(statistics.total(), elapsedSeconds),
+                operations);
+    }
+
+    public void writeTo(Path path) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(path.toFile(), this);
+    }
+
+    public String summary() {
+        final var builder = new StringBuilder();
+        builder.append(String.format(
+                "%-14s %10s %10s %9s %9s %9s %9s %8s %8s%n",
+                "operation", "requests", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "429", "err %"));
+        operations.forEach((name, report) -> builder.append(report.line(name)));
+        builder.append(total.line("total"));
+        return builder.toString();
+    }
+
+    public record OperationReport(
+            long requests,
+            double throughput,
+            double p50Millis,
+            double p99Millis,
+            double p999Millis,
+            double maxMillis,
+            long tooManyRequests,
+            long errors,
+            double errorRate,
+            Map<Integer, Long> statusCodes) {
+
+        static OperationReport from(OperationStatistics statistics, double elapsedSeconds) {
+            final var latencies = statistics.latencies();
+            final var requests = statistics.requests();
+            return new OperationReport(
+                    requests,
+                    elapsedSeconds > 0 ? requests / elapsedSeconds : 0,
+                    latencies.percentile(50) / 1000.0,
+                    latencies.percentile(99) / 1000.0,
+                    latencies.percentile(99.9) / 1000.0,
+                    latencies.max() / 1000.0,
+                    statistics.count(429),
+                    statistics.errors(),
+                    requests > 0 ? (double) statistics.errors() / requests : 0,
+                    statistics.statusCodes());
+        }
+
+        private String line(String name) {
+            return String.format(
+                    "%-14s %10d %10.1f %9.2f %9.2f %9.2f %9.2f %8d %8.2f%n",
+                    name,
+                    requests,
+                    throughput,
+                    p50Millis,
+                    p99Millis,
+                    p999Millis,
+                    maxMillis,
+                    tooManyRequests,
+                    errorRate * 100);
+        }
+    }
+}
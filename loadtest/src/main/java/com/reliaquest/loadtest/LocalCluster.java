@@ -0,0 +1,155 @@
+package com.reliaquest.loadtest;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Boots the mock server, or one per shard, and the api as child JVMs on free local ports. Running them as separate processes keeps
+ * their classpaths and {@code application.yml} files apart, just like a real deployment.
+ */
+@Slf4j
+final class LocalCluster implements AutoCloseable {
+
+    private final List<Process> processes = new ArrayList<>();
+
+    @Getter
+    private final List<URI> serverBaseUris = new ArrayList<>();
+
+    @Getter
+    private URI apiBaseUri;
+
+    private LocalCluster() {}
+
+    static LocalCluster start(LoadTestConfig config) throws IOException, InterruptedException {
+        final var cluster = new LocalCluster();
+        final var logDirectory = Files.createDirectories(config.getReport().toAbsolutePath().getParent());
+        try {
+            final var shards = config.getShards();
+            final var employeesPerShard = (config.getEmployees() + shards - 1) / shards;
+            for (int shard = 0; shard < shards; shard++) {
+                final var serverPort = freePort();
+                final var serverArguments = new ArrayList<>(List.of(
+                        "--server.port=" + serverPort,
+                        "--logging.level.com.reliaquest=INFO",
+                        "--mock.employees.max=" + employeesPerShard,
+                        "--mock.shard.index=" + shard,
+                        "--mock.shard.count=" + shards,
+                        "--mock.rate-limit.enabled=" + config.isRateLimitEnabled(),
+                        "--mock.rate-limit.requests=" + config.getRateLimitRequests(),
+                        "--mock.rate-limit.backoff=" + config.getRateLimitBackoff().toMillis() + "ms"));
+                if (!config.getFaults().isEmpty()) {
+                    serverArguments.add("--spring.profiles.active=" + config.getFaults());
+                    serverArguments.add("--mock.faults.seed=" + (config.getSeed() + 1000L * shard));
+                }
+                final var serverBaseUri = URI.create("http://localhost:" + serverPort);
+                final var name = shards == 1 ? "server" : "server-" + shard;
+                cluster.launch(name, config.getServerJar(), serverArguments, logDirectory);
+                cluster.awaitReady(name, serverBaseUri, config.getStartupTimeout());
+                cluster.serverBaseUris.add(serverBaseUri);
+            }
+
+            final var apiPort = freePort();
+            cluster.apiBaseUri = URI.create("http://localhost:" + apiPort);
+            final var employeeUrls = cluster.serverBaseUris.stream()
+                    .map(uri -> uri.resolve("/api/v1/employee").toString())
+                    .toList();
+            // Every run generates a new roster, so a checkpoint of a previous run never applies.
+            cluster.launch(
+                    "api",
+                    config.getApiJar(),
+                    List.of(
+                            "--server.port=" + apiPort,
+                            "--employee.api.base-url=" + employeeUrls.get(0),
+                            "--employee.api.shard-urls=" + String.join(",", employeeUrls),
+                            "--employee.snapshot.enabled=false"),
+                    logDirectory);
+            cluster.awaitReady("api", cluster.apiBaseUri, config.getStartupTimeout());
+            return cluster;
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            cluster.close();
+            throw e;
+        }
+    }
+
+    private void launch(String name, Path jar, List<String> arguments, Path logDirectory) throws IOException {
+        final var command = new ArrayList<String>();
+        command.add(javaExecutable());
+        command.add("-jar");
+        command.add(jar.toString());
+        command.addAll(arguments);
+        final var logFile = logDirectory.resolve(name + ".log").toFile();
+        log.info("Starting {}: {} (log: {})", name, String.join(" ", command), logFile);
+        processes.add(new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(logFile)
+                .start());
+    }
+
+    /*
+     * Any HTTP response, even a 404 for the root path, means the web server is accepting requests. The mock server's
+     * request limit applies to every path, but probes sent before it listens are refused without reaching it, so
+     * readiness spends a single request of its budget, before the unmeasured warmup.
+     */
+    private void awaitReady(String name, URI baseUri, Duration timeout) throws InterruptedException {
+        final var client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        final var probe = HttpRequest.newBuilder(baseUri.resolve("/"))
+                .timeout(Duration.ofSeconds(2))
+                .GET()
+                .build();
+        final var process = processes.get(processes.size() - 1);
+        final var deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(name + " exited during startup with code " + process.exitValue());
+            }
+            try {
+                client.send(probe, HttpResponse.BodyHandlers.discarding());
+                log.info("{} is ready at {}", name, baseUri);
+                return;
+            } catch (IOException e) {
+                TimeUnit.MILLISECONDS.sleep(250);
+            }
+        }
+        throw new IllegalStateException(name + " did not start within " + timeout);
+    }
+
+    @Override
+    public void close() {
+        for (int i = processes.size() - 1; i >= 0; i--) {
+            final var process = processes.get(i);
+            process.destroy();
+            try {
+                if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+        processes.clear();
+    }
+
+    static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            socket.setReuseAddress(true);
+            return socket.getLocalPort();
+        }
+    }
+
+    static String javaExecutable() {
+        return ProcessHandle.current().info().command().orElse("java");
+    }
+}
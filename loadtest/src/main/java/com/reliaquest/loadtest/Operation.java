@@ -0,0 +1,31 @@
+package com.reliaquest.loadtest;
+
+import java.util.Arrays;
+import lombok.Getter;
+
+/**
+ * Operations of {@code IEmployeeController} the load generator can drive.
+ */
+public enum Operation {
+    GET_ALL("getAll"),
+    SEARCH("search"),
+    GET_BY_ID("getById"),
+    HIGHEST_SALARY("highestSalary"),
+    TOP_TEN("topTen"),
+    CREATE("create"),
+    DELETE("delete");
+
+    @Getter
+    private final String key;
+
+    Operation(String key) {
+        this.key = key;
+    }
+
+    public static Operation fromKey(String key) {
+        return Arrays.stream(values())
+                .filter(operation -> operation.key.equalsIgnoreCase(key))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown operation: " + key));
+    }
+}
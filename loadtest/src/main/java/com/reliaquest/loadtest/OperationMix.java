@@ -0,0 +1,70 @@
+package com.reliaquest.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import lombok.NonNull;
+
+/**
+ * Weighted selection of operations, e.g. {@code getAll:10,getById:40,create:5}.
+ */
+public final class OperationMix {
+
+    private final Map<Operation, Integer> weights;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+
+    private OperationMix(Map<Operation, Integer> weights) {
+        this.weights = weights;
+        this.operations = weights.keySet().toArray(Operation[]::new);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += weights.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("Operation mix must contain at least one positive weight");
+        }
+    }
+
+    public static OperationMix parse(@NonNull String mix) {
+        final var weights = new EnumMap<Operation, Integer>(Operation.class);
+        for (String entry : mix.split(",")) {
+            final var parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected operation:weight but got: " + entry);
+            }
+            final var weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Weight must not be negative: " + entry);
+            }
+            if (weight > 0) {
+                weights.merge(Operation.fromKey(parts[0].trim()), weight, Integer::sum);
+            }
+        }
+        return new OperationMix(weights);
+    }
+
+    public Operation pick(SplittableRandom random) {
+        final var value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    @Override
+    public String toString() {
+        final var builder = new StringBuilder();
+        weights.forEach((operation, weight) -> {
+            if (!builder.isEmpty()) {
+                builder.append(',');
+            }
+            builder.append(operation.getKey()).append(':').append(weight);
+        });
+        return builder.toString();
+    }
+}
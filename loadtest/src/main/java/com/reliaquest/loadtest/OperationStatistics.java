@@ -0,0 +1,63 @@
+package com.reliaquest.loadtest;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe counters and latency histogram for a single operation.
+ */
+final class OperationStatistics {
+
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final Map<Integer, LongAdder> statusCodes = new ConcurrentHashMap<>();
+    private final LongAdder transportErrors = new LongAdder();
+
+    void recordResponse(int statusCode, long latencyNanos) {
+        latencies.record(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        statusCodes.computeIfAbsent(statusCode, ignored -> new LongAdder()).increment();
+    }
+
+    void recordFailure(long latencyNanos) {
+        latencies.record(TimeUnit.NANOSECONDS.toMicros(latencyNanos));
+        transportErrors.increment();
+    }
+
+    LatencyHistogram latencies() {
+        return latencies;
+    }
+
+    long requests() {
+        return latencies.count();
+    }
+
+    long transportErrors() {
+        return transportErrors.sum();
+    }
+
+    long count(int statusCode) {
+        final var counter = statusCodes.get(statusCode);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    /**
+     * Server errors plus transport failures (timeouts, refused or reset connections).
+     */
+    long errors() {
+        long serverErrors = 0;
+        for (Map.Entry<Integer, LongAdder> entry : statusCodes.entrySet()) {
+            if (entry.getKey() >= 500) {
+                serverErrors += entry.getValue().sum();
+            }
+        }
+        return serverErrors + transportErrors();
+    }
+
+    Map<Integer, Long> statusCodes() {
+        final var snapshot = new TreeMap<Integer, Long>();
+        statusCodes.forEach((status, counter) -> snapshot.put(status, counter.sum()));
+        return snapshot;
+    }
+}
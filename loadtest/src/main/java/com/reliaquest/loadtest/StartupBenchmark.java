@@ -0,0 +1,229 @@
+package com.reliaquest.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compares the startup of the standard boot jars with the fast-startup variants (AOT-processed, with a class data
+ * sharing archive) of the mock server and the api.
+ *
+ * <p>Every run starts a fresh JVM and records two times: from launching it until the web server answers a probe, and
+ * the latency of the first real request after that, which still pays for lazy initialization and cold code. Runs
+ * alternate between the variants so that drift on the machine affects both alike. The api is started against one mock
+ * server that is booted beforehand and kept running, and gets a fresh snapshot file every run, so it never restores a
+ * warm store. Its prefetcher is disabled, since it would otherwise load the employee list before the api reports
+ * ready and the first request would measure a cache hit.
+ */
+@Slf4j
+public final class StartupBenchmark {
+
+    static final String STANDARD = "standard";
+    static final String FAST_STARTUP = "fast-startup";
+
+    private static final Duration PROBE_INTERVAL = Duration.ofMillis(10);
+
+    private final StartupBenchmarkConfig config;
+    private final Path logDirectory;
+    private final HttpClient client =
+            HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+
+    private StartupBenchmark(StartupBenchmarkConfig config, Path logDirectory) {
+        this.config = config;
+        this.logDirectory = logDirectory;
+    }
+
+    public static void main(String[] args) throws Exception {
+        final var config = StartupBenchmarkConfig.fromArgs(args);
+        log.info("Startup benchmark configuration: {}", config.describe());
+        final var logDirectory = Files.createDirectories(config.getReport().toAbsolutePath().getParent());
+        final var benchmark = new StartupBenchmark(config, logDirectory);
+        final var startedAt = Instant.now();
+
+        final var serverArguments =
+                List.of("--mock.employees.max=" + config.getEmployees(), "--mock.rate-limit.enabled=false");
+        final var applications = new LinkedHashMap<String, Map<String, StartupReport.VariantReport>>();
+        applications.put(
+                "server",
+                benchmark.measure(
+                        "server",
+                        config.getServerJar(),
+                        config.getServerFastStartup(),
+                        run -> serverArguments,
+                        "/api/v1/employee"));
+
+        final var upstreamPort = LocalCluster.freePort();
+        final var upstream = benchmark.launch(
+                "upstream", standardCommand(config.getServerJar()), null, withPort(serverArguments, upstreamPort));
+        try {
+            benchmark.awaitReady("upstream", upstream, URI.create("http://localhost:" + upstreamPort));
+            final var baseUrl = "http://localhost:" + upstreamPort + "/api/v1/employee";
+            applications.put(
+                    "api",
+                    benchmark.measure(
+                            "api",
+                            config.getApiJar(),
+                            config.getApiFastStartup(),
+                            run -> List.of(
+                                    "--employee.api.base-url=" + baseUrl,
+                                    "--employee.snapshot.file=" + logDirectory.resolve(run + ".bin"),
+                                    "--employee.prefetch.enabled=false"),
+                            "/api/employees"));
+        } finally {
+            stop(upstream);
+        }
+
+        final var report = new StartupReport(startedAt.toString(), config.describe(), applications);
+        report.writeTo(config.getReport());
+        log.info("Startup benchmark finished, report written to {}\n{}", config.getReport(), report.summary());
+    }
+
+    /*
+     * arguments maps the name of a run to the application arguments for it.
+     */
+    private Map<String, StartupReport.VariantReport> measure(
+            String name,
+            Path jar,
+            Path fastStartup,
+            Function<String, List<String>> arguments,
+            String firstRequestPath)
+            throws IOException, InterruptedException {
+        if (!Files.isRegularFile(fastStartup.resolve("app.jsa"))) {
+            throw new IllegalStateException(
+                    "No class data sharing archive in " + fastStartup + ", run fastStartupArchive first");
+        }
+        final var ready = Map.of(STANDARD, new ArrayList<Double>(), FAST_STARTUP, new ArrayList<Double>());
+        final var firstRequest = Map.of(STANDARD, new ArrayList<Double>(), FAST_STARTUP, new ArrayList<Double>());
+        for (int run = 0; run < config.getRuns(); run++) {
+            for (String variant : List.of(STANDARD, FAST_STARTUP)) {
+                final var runName = name + "-" + variant + "-" + (run + 1);
+                final var port = LocalCluster.freePort();
+                final var command = variant.equals(STANDARD) ? standardCommand(jar) : fastStartupCommand();
+                final var workingDirectory = variant.equals(STANDARD) ? null : fastStartup;
+
+                final var start = System.nanoTime();
+                final var process =
+                        launch(runName, command, workingDirectory, withPort(arguments.apply(runName), port));
+                try {
+                    final var baseUri = URI.create("http://localhost:" + port);
+                    awaitReady(name, process, baseUri);
+                    final var readyMillis = (System.nanoTime() - start) / 1e6;
+                    final var firstRequestMillis = timeRequest(baseUri.resolve(firstRequestPath));
+                    log.info(
+                            "{} {} run {}: ready after {} ms, first request took {} ms",
+                            name,
+                            variant,
+                            run + 1,
+                            Math.round(readyMillis),
+                            Math.round(firstRequestMillis));
+                    ready.get(variant).add(readyMillis);
+                    firstRequest.get(variant).add(firstRequestMillis);
+                } finally {
+                    stop(process);
+                }
+            }
+        }
+        final var variants = new LinkedHashMap<String, StartupReport.VariantReport>();
+        for (String variant : List.of(STANDARD, FAST_STARTUP)) {
+            variants.put(variant, StartupReport.VariantReport.from(ready.get(variant), firstRequest.get(variant)));
+        }
+        return variants;
+    }
+
+    private Process launch(String name, List<String> command, Path workingDirectory, List<String> arguments)
+            throws IOException {
+        final var fullCommand = new ArrayList<>(command);
+        fullCommand.addAll(arguments);
+        final var logFile = logDirectory.resolve(name + ".log").toFile();
+        log.debug("Starting {}: {} (log: {})", name, String.join(" ", fullCommand), logFile);
+        return new ProcessBuilder(fullCommand)
+                .directory(workingDirectory != null ? workingDirectory.toFile() : null)
+                .redirectErrorStream(true)
+                .redirectOutput(logFile)
+                .start();
+    }
+
+    /*
+     * Probes the root path like LocalCluster, but far more often, since the time until the probe succeeds is the
+     * measurement.
+     */
+    private void awaitReady(String name, Process process, URI baseUri) throws InterruptedException {
+        final var probe = HttpRequest.newBuilder(baseUri.resolve("/"))
+                .timeout(Duration.ofSeconds(2))
+                .GET()
+                .build();
+        final var deadline = System.nanoTime() + config.getStartupTimeout().toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException(name + " exited during startup with code " + process.exitValue());
+            }
+            try {
+                client.send(probe, HttpResponse.BodyHandlers.discarding());
+                return;
+            } catch (IOException e) {
+                TimeUnit.MILLISECONDS.sleep(PROBE_INTERVAL.toMillis());
+            }
+        }
+        throw new IllegalStateException(name + " did not start within " + config.getStartupTimeout());
+    }
+
+    private double timeRequest(URI uri) throws IOException, InterruptedException {
+        final var request =
+                HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+        final var start = System.nanoTime();
+        final var response = client.send(request, HttpResponse.BodyHandlers.discarding());
+        final var millis = (System.nanoTime() - start) / 1e6;
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("First request to " + uri + " answered " + response.statusCode());
+        }
+        return millis;
+    }
+
+    private static List<String> standardCommand(Path jar) {
+        return List.of(LocalCluster.javaExecutable(), "-jar", jar.toAbsolutePath().toString());
+    }
+
+    /*
+     * Started from within the fast-startup directory, exactly as the archive was dumped.
+     */
+    private static List<String> fastStartupCommand() {
+        return List.of(
+                LocalCluster.javaExecutable(),
+                "-XX:SharedArchiveFile=app.jsa",
+                "-Dspring.aot.enabled=true",
+                "-jar",
+                "app.jar");
+    }
+
+    private static List<String> withPort(List<String> arguments, int port) {
+        final var withPort = new ArrayList<String>();
+        withPort.add("--server.port=" + port);
+        withPort.addAll(arguments);
+        return withPort;
+    }
+
+    private static void stop(Process process) {
+        process.destroy();
+        try {
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
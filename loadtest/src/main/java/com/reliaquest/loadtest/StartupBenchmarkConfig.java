@@ -0,0 +1,54 @@
+package com.reliaquest.loadtest;
+
+import static com.reliaquest.loadtest.LoadTestConfig.duration;
+import static com.reliaquest.loadtest.LoadTestConfig.option;
+import static com.reliaquest.loadtest.LoadTestConfig.parseArgs;
+import static com.reliaquest.loadtest.LoadTestConfig.required;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import lombok.Builder;
+import lombok.Value;
+
+@Value
+@Builder
+public class StartupBenchmarkConfig {
+
+    Path serverJar;
+    Path apiJar;
+    Path serverFastStartup;
+    Path apiFastStartup;
+    Path report;
+
+    int runs;
+    int employees;
+    Duration startupTimeout;
+
+    /**
+     * Reads {@code key=value} arguments the same way as {@link LoadTestConfig#fromArgs}.
+     */
+    public static StartupBenchmarkConfig fromArgs(String... args) {
+        final var options = parseArgs(args);
+        return StartupBenchmarkConfig.builder()
+                .serverJar(Path.of(required(options, "server-jar")))
+                .apiJar(Path.of(required(options, "api-jar")))
+                .serverFastStartup(Path.of(required(options, "server-fast-startup")))
+                .apiFastStartup(Path.of(required(options, "api-fast-startup")))
+                .report(Path.of(option(options, "report").orElse("build/startup/report.json")))
+                .runs(Math.max(1, Integer.parseInt(option(options, "runs").orElse("5"))))
+                .employees(Integer.parseInt(option(options, "employees").orElse("50")))
+                .startupTimeout(duration(options, "startup-timeout", "2m"))
+                .build();
+    }
+
+    public Map<String, String> describe() {
+        final var description = new LinkedHashMap<String, String>();
+        description.put("runs", String.valueOf(runs));
+        description.put("employees", String.valueOf(employees));
+        description.put("java", System.getProperty("java.vm.name") + " " + System.getProperty("java.version"));
+        description.put("processors", String.valueOf(Runtime.getRuntime().availableProcessors()));
+        return description;
+    }
+}
@@ -0,0 +1,76 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+public record StartupReport(
+        String startedAt, Map<String, String> config, Map<String, Map<String, VariantReport>> applications) {
+
+    public void writeTo(Path path) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(path.toFile(), this);
+    }
+
+    public String summary() {
+        final var builder = new StringBuilder();
+        builder.append(String.format(
+                "%-8s %-14s %12s %12s %14s %14s%n",
+                "app", "variant", "ready p50 ms", "ready min ms", "first p50 ms", "first min ms"));
+        applications.forEach((application, variants) -> variants.forEach(
+                (variant, report) -> builder.append(report.line(application, variant))));
+        applications.forEach((application, variants) -> {
+            final var standard = variants.get(StartupBenchmark.STANDARD);
+            final var fastStartup = variants.get(StartupBenchmark.FAST_STARTUP);
+            builder.append(String.format(
+                    "%s: fast-startup is ready %.2fx sooner, first request %.2fx faster%n",
+                    application,
+                    standard.readyMedianMillis() / fastStartup.readyMedianMillis(),
+                    standard.firstRequestMedianMillis() / fastStartup.firstRequestMedianMillis()));
+        });
+        return builder.toString();
+    }
+
+    public record VariantReport(
+            double readyMedianMillis,
+            double readyMinMillis,
+            double firstRequestMedianMillis,
+            double firstRequestMinMillis,
+            List<Double> readyMillis,
+            List<Double> firstRequestMillis) {
+
+        static VariantReport from(List<Double> readyMillis, List<Double> firstRequestMillis) {
+            return new VariantReport(
+                    median(readyMillis),
+                    min(readyMillis),
+                    median(firstRequestMillis),
+                    min(firstRequestMillis),
+                    List.copyOf(readyMillis),
+                    List.copyOf(firstRequestMillis));
+        }
+
+        private String line(String application, String variant) {
+            return String.format(
+                    "%-8s %-14s %12.0f %12.0f %14.1f %14.1f%n",
+                    application,
+                    variant,
+                    readyMedianMillis,
+                    readyMinMillis,
+                    firstRequestMedianMillis,
+                    firstRequestMinMillis);
+        }
+
+        private static double median(List<Double> values) {
+            final var sorted = values.stream().sorted().toList();
+            final var middle = sorted.size() / 2;
+            return sorted.size() % 2 == 1 ? sorted.get(middle) : (sorted.get(middle - 1) + sorted.get(middle)) / 2;
+        }
+
+        private static double min(List<Double> values) {
+            return values.stream().mapToDouble(Double::doubleValue).min().orElse(0);
+        }
+    }
+}
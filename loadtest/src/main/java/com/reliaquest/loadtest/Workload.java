@@ -0,0 +1,160 @@
+package com.reliaquest.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Builds requests for each {@link Operation} against the api and tracks the employee ids they can target.
+ * Ids created during the run are deleted first so the dataset stays roughly the configured size.
+ */
+@Slf4j
+final class Workload {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final URI employeesUri;
+    private final Duration requestTimeout;
+
+    private final List<String> seededIds = new ArrayList<>();
+    private final List<String> createdIds = new ArrayList<>();
+    private final List<String> searchTerms = new ArrayList<>();
+
+    private Workload(URI apiBaseUri, Duration requestTimeout) {
+        this.employeesUri = apiBaseUri.resolve("/api/employees");
+        this.requestTimeout = requestTimeout;
+    }
+
+    /**
+     * Loads the initial employee list through the api, retrying until it succeeds or the timeout elapses.
+     */
+    static Workload seed(HttpClient client, URI apiBaseUri, LoadTestConfig config)
+            throws IOException, InterruptedException {
+        final var workload = new Workload(apiBaseUri, config.getRequestTimeout());
+        final var deadline = System.nanoTime() + config.getStartupTimeout().toNanos();
+        final var request = HttpRequest.newBuilder(workload.employeesUri)
+                .timeout(config.getRequestTimeout())
+                .GET()
+                .build();
+        while (true) {
+            try {
+                final var response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                if (response.statusCode() == 200) {
+                    workload.load(response.body());
+                    log.info("Seeded workload with {} employees", workload.seededIds.size());
+                    return workload;
+                }
+                log.warn("Seeding employee list failed with status {}, retrying", response.statusCode());
+            } catch (IOException e) {
+                log.warn("Seeding employee list failed: {}, retrying", e.getMessage());
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Could not load the employee list before the startup timeout");
+            }
+            TimeUnit.SECONDS.sleep(1);
+        }
+    }
+
+    private void load(String body) throws IOException {
+        for (JsonNode employee : mapper.readTree(body)) {
+            seededIds.add(employee.path("id").asText());
+            final var firstName = employee.path("employee_name").asText().split(" ")[0];
+            if (firstName.length() >= 3) {
+                searchTerms.add(firstName.substring(0, 3));
+            }
+        }
+    }
+
+    HttpRequest request(Operation operation, SplittableRandom random) {
+        final var builder = HttpRequest.newBuilder().timeout(requestTimeout);
+        return switch (operation) {
+            case GET_ALL -> builder.uri(employeesUri).GET().build();
+            case SEARCH -> builder.uri(employee("search/" + encode(searchTerm(random))))
+                    .GET()
+                    .build();
+            case GET_BY_ID -> builder.uri(employee(anyId(random))).GET().build();
+            case HIGHEST_SALARY -> builder.uri(employee("highestSalary")).GET().build();
+            case TOP_TEN -> builder.uri(employee("topTenHighestEarningEmployeeNames"))
+                    .GET()
+                    .build();
+            case CREATE -> builder.uri(employeesUri)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(createBody(random)))
+                    .build();
+            case DELETE -> builder.uri(employee(takeDeletableId(random))).DELETE().build();
+        };
+    }
+
+    /**
+     * Keeps the id pool in sync with successful creates.
+     */
+    void onResponse(Operation operation, HttpResponse<String> response) {
+        if (operation != Operation.CREATE || response.statusCode() != 200) {
+            return;
+        }
+        try {
+            final var id = mapper.readTree(response.body()).path("id").asText(null);
+            if (id != null) {
+                synchronized (this) {
+                    createdIds.add(id);
+                }
+            }
+        } catch (IOException e) {
+            log.debug("Could not read created employee: {}", e.getMessage());
+        }
+    }
+
+    private URI employee(String path) {
+        return URI.create(employeesUri + "/" + path);
+    }
+
+    private synchronized String anyId(SplittableRandom random) {
+        final var size = seededIds.size() + createdIds.size();
+        if (size == 0) {
+            return UUID.randomUUID().toString();
+        }
+        final var index = random.nextInt(size);
+        return index < seededIds.size() ? seededIds.get(index) : createdIds.get(index - seededIds.size());
+    }
+
+    private synchronized String takeDeletableId(SplittableRandom random) {
+        final var pool = createdIds.isEmpty() ? seededIds : createdIds;
+        if (pool.isEmpty()) {
+            return UUID.randomUUID().toString();
+        }
+        final var index = random.nextInt(pool.size());
+        final var id = pool.get(index);
+        pool.set(index, pool.get(pool.size() - 1));
+        pool.remove(pool.size() - 1);
+        return id;
+    }
+
+    private String searchTerm(SplittableRandom random) {
+        return searchTerms.isEmpty() ? "a" : searchTerms.get(random.nextInt(searchTerms.size()));
+    }
+
+    private String createBody(SplittableRandom random) {
+        final var body = mapper.createObjectNode()
+                .put("name", "Load Test " + Long.toHexString(random.nextLong()))
+                .put("salary", random.nextInt(30_000, 500_000))
+                .put("age", random.nextInt(16, 71))
+                .put("title", "Load Tester");
+        return body.toString();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+}
@@ -0,0 +1,55 @@
+package com.reliaquest.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTest {
+
+    @Test
+    void testReportsSmallValuesExactly() {
+        final var histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 10; micros++) {
+            histogram.record(micros);
+        }
+
+        assertEquals(10, histogram.count());
+        assertEquals(1, histogram.percentile(10));
+        assertEquals(5, histogram.percentile(50));
+        assertEquals(10, histogram.percentile(100));
+    }
+
+    /*
+     * Percentiles report the upper bound of their bucket, so they may overshoot by the bucket width but never
+     * undershoot.
+     */
+    @Test
+    void testPercentilesWithinBucketPrecision() {
+        final var histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 100_000; micros++) {
+            histogram.record(micros);
+        }
+
+        for (double percentile : new double[] {50, 90, 99, 99.9}) {
+            final var expected = (long) Math.ceil(percentile * 1_000);
+            final var actual = histogram.percentile(percentile);
+            assertTrue(
+                    actual >= expected && actual <= expected * 1.016,
+                    "p" + percentile + " was " + actual + ", expected about " + expected);
+        }
+        assertEquals(100_000, histogram.percentile(100));
+        assertEquals(100_000, histogram.max());
+    }
+
+    @Test
+    void testEmptyAndNegativeValues() {
+        final var histogram = new LatencyHistogram();
+        assertEquals(0, histogram.percentile(99));
+
+        histogram.record(-5);
+        assertEquals(1, histogram.count());
+        assertEquals(0, histogram.percentile(50));
+        assertEquals(0, histogram.max());
+    }
+}
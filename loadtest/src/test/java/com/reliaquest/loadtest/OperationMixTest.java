@@ -0,0 +1,42 @@
+package com.reliaquest.loadtest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.EnumMap;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class OperationMixTest {
+
+    @Test
+    void testParseMergesRepeatedOperationsAndDropsZeroWeights() {
+        final var mix = OperationMix.parse("getAll:1, getById : 3,getAll:1,create:0");
+
+        assertEquals("getAll:2,getById:3", mix.toString());
+    }
+
+    @Test
+    void testPicksOperationsInProportionToTheirWeights() {
+        final var mix = OperationMix.parse("getAll:1,getById:3,delete:6");
+        final var random = new SplittableRandom(42);
+        final var picks = new EnumMap<Operation, Integer>(Operation.class);
+
+        for (int i = 0; i < 100_000; i++) {
+            picks.merge(mix.pick(random), 1, Integer::sum);
+        }
+
+        assertEquals(3, picks.size());
+        assertEquals(10_000, picks.get(Operation.GET_ALL), 1_000);
+        assertEquals(30_000, picks.get(Operation.GET_BY_ID), 1_000);
+        assertEquals(60_000, picks.get(Operation.DELETE), 1_000);
+    }
+
+    @Test
+    void testRejectsInvalidMixes() {
+        assertThrows(IllegalArgumentException.class, () -> OperationMix.parse("getAll"));
+        assertThrows(IllegalArgumentException.class, () -> OperationMix.parse("getAll:-1"));
+        assertThrows(IllegalArgumentException.class, () -> OperationMix.parse("getAll:0,create:0"));
+        assertThrows(IllegalArgumentException.class, () -> OperationMix.parse("unknown:1"));
+    }
+}
@@ -0,0 +1,105 @@
+package com.reliaquest.server.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Faults injected by {@link com.reliaquest.server.web.FaultInjectionFilter}, bound from {@code mock.faults}. Ready-made
+ * profiles live in {@code application-<profile>.yml}; enable one with {@code --spring.profiles.active=<profile>}.
+ */
+@Data
+@ConfigurationProperties("mock.faults")
+public class FaultProperties {
+
+    private boolean enabled;
+
+    /*
+     * Every route draws from its own generator seeded from this value, so a single-threaded client sees the same faults
+     * on every run. Concurrent clients interleave their draws and only get the same distribution.
+     */
+    private long seed = 42;
+
+    /*
+     * Checked in order; the first route matching a request decides its faults.
+     */
+    private List<Route> routes = new ArrayList<>();
+
+    @Data
+    public static class Route {
+
+        /*
+         * HTTP method to match, or any method when unset.
+         */
+        private String method;
+
+        /*
+         * Ant-style pattern matched against the request path.
+         */
+        private String path = "/**";
+
+        private Latency latency = new Latency();
+
+        /*
+         * Fraction of requests answered with errorStatus instead of reaching the controller.
+         */
+        private double errorRate;
+
+        private int errorStatus = 500;
+
+        /*
+         * Fraction of requests whose connection is closed halfway through the response body.
+         */
+        private double resetRate;
+
+        /*
+         * Fraction of responses written in chunks of dripChunkSize bytes, one every dripInterval.
+         */
+        private double dripRate;
+
+        private int dripChunkSize = 256;
+
+        private Duration dripInterval = Duration.ofMillis(100);
+    }
+
+    @Data
+    public static class Latency {
+
+        private Distribution distribution = Distribution.NONE;
+
+        /*
+         * Delay of the fixed distribution.
+         */
+        private Duration value = Duration.ZERO;
+
+        /*
+         * Bounds of the uniform distribution. A non-zero max also caps the log-normal distribution.
+         */
+        private Duration min = Duration.ZERO;
+
+        private Duration max = Duration.ZERO;
+
+        /*
+         * Median and shape of the log-normal distribution; sigma 0.5 puts p99 at about 3.2 times the median.
+         */
+        private Duration median = Duration.ZERO;
+
+        private double sigma = 0.5;
+
+        /*
+         * Fraction of log-normal samples multiplied by tailMultiplier, for a heavier tail than the body alone gives.
+         */
+        private double tailRate;
+
+        private double tailMultiplier = 10;
+    }
+
+    public enum Distribution {
+        NONE,
+        FIXED,
+        UNIFORM,
+        LOG_NORMAL
+    }
+}
@@ -1,11 +1,15 @@
 package com.reliaquest.server.config;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.web.FaultInjectionFilter;
 import com.reliaquest.server.web.RandomRequestLimitInterceptor;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
-import java.util.UUID;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import lombok.extern.slf4j.Slf4j;
@@ -14,6 +18,9 @@ import net.datafaker.transformations.Field;
 import net.datafaker.transformations.JavaObjectTransformer;
 import net.datafaker.transformations.Schema;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
@@ -21,10 +28,32 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Slf4j
 @Configuration
+@EnableConfigurationProperties(FaultProperties.class)
 public class ServerConfiguration implements WebMvcConfigurer {
 
     public static final String EMAIL_TEMPLATE = "%s@company.com";
 
+    @Value("${mock.rate-limit.enabled:true}")
+    private boolean rateLimitEnabled;
+
+    /*
+     * Each one left at zero falls back to the randomized limit of RandomRequestLimitInterceptor on its own.
+     */
+    @Value("${mock.rate-limit.requests:0}")
+    private int rateLimitRequests;
+
+    @Value("${mock.rate-limit.backoff:0s}")
+    private Duration rateLimitBackoff;
+
+    @Bean
+    public Shard shard(@Value("${mock.shard.index:0}") int index, @Value("${mock.shard.count:1}") int count) {
+        final var shard = new Shard(index, count);
+        if (count > 1) {
+            log.info("Serving shard {} of {}", index, count);
+        }
+        return shard;
+    }
+
     @Bean
     public Faker faker() {
         return new Faker(Locale.getDefault());
@@ -34,10 +63,11 @@ public class ServerConfiguration implements WebMvcConfigurer {
      * This list is modifiable by design for CRUD operations.
      */
     @Bean
-    public List<MockEmployee> mockEmployees(Faker faker, @Value("${mock.employees.max:20}") int maxEmployees) {
+    public List<MockEmployee> mockEmployees(
+            Faker faker, Shard shard, @Value("${mock.employees.max:20}") int maxEmployees) {
         final var transformer = new JavaObjectTransformer();
         final var schema = Schema.of(
-                Field.field("id", UUID::randomUUID),
+                Field.field("id", shard::randomId),
                 Field.field("name", () -> faker.name().fullName()),
                 Field.field("salary", () -> faker.number().numberBetween(30000, 500000)),
                 Field.field("age", () -> faker.number().numberBetween(16, 70)),
@@ -52,8 +82,29 @@ public class ServerConfiguration implements WebMvcConfigurer {
                 .collect(Collectors.toCollection(ArrayList::new));
     }
 
+    /*
+     * Registered ahead of everything else so injected latency and resets also apply to rate-limited responses.
+     */
+    @Bean
+    @ConditionalOnProperty("mock.faults.enabled")
+    public FilterRegistrationBean<FaultInjectionFilter> faultInjectionFilter(
+            FaultProperties faultProperties, ObjectMapper objectMapper) throws JsonProcessingException {
+        log.info(
+                "Injecting faults into {} route(s) with seed {}",
+                faultProperties.getRoutes().size(),
+                faultProperties.getSeed());
+        final var registration = new FilterRegistrationBean<>(new FaultInjectionFilter(
+                faultProperties, objectMapper.writeValueAsBytes(Response.error("Injected fault"))));
+        registration.setOrder(Integer.MIN_VALUE);
+        return registration;
+    }
+
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new RandomRequestLimitInterceptor());
+        if (!rateLimitEnabled) {
+            log.info("Request rate limiting is disabled");
+            return;
+        }
+        registry.addInterceptor(new RandomRequestLimitInterceptor(rateLimitRequests, rateLimitBackoff));
     }
 }
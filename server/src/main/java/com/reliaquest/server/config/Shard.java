@@ -0,0 +1,50 @@
+package com.reliaquest.server.config;
+
+import java.util.UUID;
+
+/**
+ * The slice of employees this server instance owns when several instances run as a cluster. Ownership is decided by
+ * jump consistent hash (Lamping and Veach) over the employee id, the same function the api uses to route by-id
+ * requests, so every id is generated by, and only ever found on, exactly one instance.
+ *
+ * @param index zero-based position of this instance in the cluster
+ * @param count number of instances in the cluster; 1 for a standalone server
+ */
+public record Shard(int index, int count) {
+
+    public Shard {
+        if (count < 1 || index < 0 || index >= count) {
+            throw new IllegalArgumentException("Invalid shard " + index + " of " + count);
+        }
+    }
+
+    public boolean owns(UUID id) {
+        return count == 1 || shardOf(id, count) == index;
+    }
+
+    /**
+     * Draws random UUIDs until one belongs to this shard, which takes {@code count} attempts on average.
+     */
+    public UUID randomId() {
+        var id = UUID.randomUUID();
+        while (!owns(id)) {
+            id = UUID.randomUUID();
+        }
+        return id;
+    }
+
+    public static int shardOf(UUID id, int count) {
+        return jumpHash(id.getMostSignificantBits() ^ id.getLeastSignificantBits(), count);
+    }
+
+    static int jumpHash(long key, int buckets) {
+        long bucket = -1;
+        long next = 0;
+        while (next < buckets) {
+            bucket = next;
+            key = key * 2862933555777941757L + 1;
+            next = (long) ((bucket + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) bucket;
+    }
+}
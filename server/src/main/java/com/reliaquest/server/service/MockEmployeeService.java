@@ -1,6 +1,7 @@
 package com.reliaquest.server.service;
 
 import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.config.Shard;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
@@ -8,6 +9,7 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -21,10 +23,20 @@ import org.springframework.stereotype.Service;
 public class MockEmployeeService {
 
     private final Faker faker;
+    private final Shard shard;
 
     @Getter
     private final List<MockEmployee> mockEmployees;
 
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * Increases with every change to the employee list, so that anything derived from the list can tell it is stale.
+     */
+    public long getVersion() {
+        return version.get();
+    }
+
     public Optional<MockEmployee> findById(@NonNull UUID uuid) {
         return mockEmployees.stream()
                 .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
@@ -34,14 +46,26 @@ public class MockEmployeeService {
 
     public MockEmployee create(@NonNull CreateMockEmployeeInput input) {
         final var mockEmployee = MockEmployee.from(
+                shard.randomId(),
                 ServerConfiguration.EMAIL_TEMPLATE.formatted(
                         faker.twitter().userName().toLowerCase()),
                 input);
         mockEmployees.add(mockEmployee);
+        version.incrementAndGet();
         log.debug("Added employee: {}", mockEmployee);
         return mockEmployee;
     }
 
+    public Optional<MockEmployee> deleteById(@NonNull UUID uuid) {
+        final var mockEmployee = findById(uuid);
+        mockEmployee.ifPresent(employee -> {
+            mockEmployees.remove(employee);
+            version.incrementAndGet();
+            log.debug("Removed employee: {}", employee);
+        });
+        return mockEmployee;
+    }
+
     public boolean delete(@NonNull DeleteMockEmployeeInput input) {
         final var mockEmployee = mockEmployees.stream()
                 .filter(employee -> Objects.nonNull(employee.getName())
@@ -49,6 +73,7 @@ public class MockEmployeeService {
                 .findFirst();
         if (mockEmployee.isPresent()) {
             mockEmployees.remove(mockEmployee.get());
+            version.incrementAndGet();
             log.debug("Removed employee: {}", mockEmployee.get());
             return true;
         }
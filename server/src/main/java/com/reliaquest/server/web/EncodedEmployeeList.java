@@ -0,0 +1,110 @@
+package com.reliaquest.server.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.service.MockEmployeeService;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * The employee list response body, serialized once per version of the list instead of once per request.
+ *
+ * <p>{@link MockEmployeeService#getVersion()} changes with every create and delete; the encoded bytes are reused
+ * until it does. An encoding is tagged with the version read before serializing, so a change racing with it only
+ * causes one more encoding, never stale bytes. With {@code mock.list-cache.gzip} the bytes are also compressed once,
+ * at the best compression level, so gzip clients are served without compressing per request either.
+ */
+@Slf4j
+@Component
+public class EncodedEmployeeList {
+
+    public record Encoded(long version, byte[] json, byte[] gzip) {}
+
+    private final MockEmployeeService mockEmployeeService;
+    private final ObjectMapper objectMapper;
+    private final boolean gzip;
+
+    private volatile Encoded current;
+
+    public EncodedEmployeeList(
+            MockEmployeeService mockEmployeeService,
+            ObjectMapper objectMapper,
+            @Value("${mock.list-cache.gzip:true}") boolean gzip) {
+        this.mockEmployeeService = mockEmployeeService;
+        this.objectMapper = objectMapper;
+        this.gzip = gzip;
+    }
+
+    public Encoded get() {
+        final var encoded = current;
+        if (encoded != null && encoded.version() == mockEmployeeService.getVersion()) {
+            return encoded;
+        }
+        return encode();
+    }
+
+    /**
+     * Whether an {@code Accept-Encoding} header value allows gzip, i.e. lists {@code gzip}, {@code x-gzip} or {@code *}
+     * without {@code q=0}.
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            final var parts = coding.split(";");
+            final var name = parts[0].trim();
+            if (name.equalsIgnoreCase("gzip") || name.equalsIgnoreCase("x-gzip") || name.equals("*")) {
+                for (int i = 1; i < parts.length; i++) {
+                    if (parts[i].trim().matches("q=0(\\.0*)?")) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /*
+     * Serialized so that a burst of reads after a change encodes the list once rather than once per reader.
+     */
+    private synchronized Encoded encode() {
+        final var version = mockEmployeeService.getVersion();
+        if (current != null && current.version() == version) {
+            return current;
+        }
+        try {
+            final var json =
+                    objectMapper.writeValueAsBytes(Response.handledWith(mockEmployeeService.getMockEmployees()));
+            final var encoded = new Encoded(version, json, gzip ? compress(json) : null);
+            log.debug(
+                    "Encoded employee list version {}: {} bytes, {} compressed",
+                    version,
+                    json.length,
+                    encoded.gzip() != null ? encoded.gzip().length : "not");
+            current = encoded;
+            return encoded;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] compress(byte[] json) throws IOException {
+        final var bytes = new ByteArrayOutputStream(json.length / 4);
+        try (var out = new GZIPOutputStream(bytes) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            out.write(json);
+        }
+        return bytes.toByteArray();
+    }
+}
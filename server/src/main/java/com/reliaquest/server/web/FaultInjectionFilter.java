@@ -0,0 +1,150 @@
+package com.reliaquest.server.web;
+
+import com.reliaquest.server.config.FaultProperties;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.coyote.CloseNowException;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Injects latency, error responses, slow-drip bodies and connection resets into matching requests, so that clients
+ * can be exercised against realistic tail latency and failures rather than only the rate limit. Faults are drawn
+ * once per request, before the request reaches the controller.
+ */
+@Slf4j
+public class FaultInjectionFilter extends OncePerRequestFilter {
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final List<RouteFaults> routes;
+    private final byte[] errorBody;
+
+    public FaultInjectionFilter(FaultProperties properties, byte[] errorBody) {
+        final var routes = properties.getRoutes();
+        this.routes = IntStream.range(0, routes.size())
+                .mapToObj(index -> new RouteFaults(routes.get(index), new Random(properties.getSeed() + index)))
+                .toList();
+        this.errorBody = errorBody;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        final var route = routes.stream()
+                .filter(candidate -> matches(candidate.route(), request))
+                .findFirst();
+        if (route.isEmpty()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        final var faults = route.get().draw();
+
+        if (faults.delayNanos() > 0) {
+            sleep(faults.delayNanos());
+        }
+        if (faults.error()) {
+            final var status = route.get().route().getErrorStatus();
+            log.debug("Injecting {} into {} {}", status, request.getMethod(), request.getRequestURI());
+            response.setStatus(status);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setContentLength(errorBody.length);
+            response.getOutputStream().write(errorBody);
+            return;
+        }
+        if (!faults.reset() && !faults.drip()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        final var wrapper = new ContentCachingResponseWrapper(response);
+        chain.doFilter(request, wrapper);
+        final var body = wrapper.getContentAsByteArray();
+        response.setContentLength(body.length);
+        final var out = response.getOutputStream();
+
+        if (faults.reset()) {
+            log.debug("Resetting connection of {} {}", request.getMethod(), request.getRequestURI());
+            out.write(body, 0, body.length / 2);
+            response.flushBuffer();
+            /*
+             * Tomcat closes the connection, without logging, when this exception escapes a committed response. The
+             * client sees a premature end of stream.
+             */
+            throw new CloseNowException("Injected connection reset");
+        }
+
+        final var chunkSize = Math.max(1, route.get().route().getDripChunkSize());
+        final var intervalNanos = route.get().route().getDripInterval().toNanos();
+        for (int offset = 0; offset < body.length; offset += chunkSize) {
+            if (offset > 0) {
+                sleep(intervalNanos);
+            }
+            out.write(body, offset, Math.min(chunkSize, body.length - offset));
+            response.flushBuffer();
+        }
+    }
+
+    private boolean matches(FaultProperties.Route route, HttpServletRequest request) {
+        return (route.getMethod() == null || route.getMethod().equalsIgnoreCase(request.getMethod()))
+                && pathMatcher.match(route.getPath(), request.getRequestURI());
+    }
+
+    private static void sleep(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Faults(long delayNanos, boolean error, boolean reset, boolean drip) {}
+
+    private record RouteFaults(FaultProperties.Route route, Random random) {
+
+        /*
+         * Every draw consumes the same random values whatever the outcome, so one fault firing does not shift the
+         * sequence of the others.
+         */
+        Faults draw() {
+            synchronized (random) {
+                final var delayNanos = sampleDelayNanos(route.getLatency());
+                final var error = random.nextDouble() < route.getErrorRate();
+                final var reset = random.nextDouble() < route.getResetRate();
+                final var drip = random.nextDouble() < route.getDripRate();
+                return new Faults(delayNanos, error, reset, drip);
+            }
+        }
+
+        private long sampleDelayNanos(FaultProperties.Latency latency) {
+            final var uniform = random.nextDouble();
+            final var gaussian = random.nextGaussian();
+            final var tail = random.nextDouble() < latency.getTailRate();
+            final var max = latency.getMax().toNanos();
+            return switch (latency.getDistribution()) {
+                case NONE -> 0;
+                case FIXED -> latency.getValue().toNanos();
+                case UNIFORM -> {
+                    final var min = latency.getMin().toNanos();
+                    yield min + (long) (uniform * Math.max(0, max - min));
+                }
+                case LOG_NORMAL -> {
+                    var sample = latency.getMedian().toNanos() * Math.exp(latency.getSigma() * gaussian);
+                    if (tail) {
+                        sample *= latency.getTailMultiplier();
+                    }
+                    yield max > 0 ? Math.min((long) sample, max) : (long) sample;
+                }
+            };
+        }
+    }
+}
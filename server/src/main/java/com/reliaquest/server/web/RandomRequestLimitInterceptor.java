@@ -12,23 +12,37 @@ import org.springframework.web.servlet.HandlerInterceptor;
 
 public class RandomRequestLimitInterceptor implements HandlerInterceptor {
 
-    private static final int REQUEST_LIMIT = RandomGenerator.getDefault().nextInt(5, 10);
-    private static final Duration REQUEST_BACKOFF_DURATION =
-            Duration.ofSeconds(RandomGenerator.getDefault().nextInt(30, 90));
+    private final int maxRequests;
+    private final Duration backoffDuration;
 
     private final AtomicReference<RequestLimit> requestLimit = new AtomicReference<>(RequestLimit.init());
 
+    public RandomRequestLimitInterceptor() {
+        this(0, Duration.ZERO);
+    }
+
+    /*
+     * Fixed limits make load tests reproducible. Each one left at zero is drawn at random, as with the no-arg
+     * constructor.
+     */
+    public RandomRequestLimitInterceptor(int maxRequests, Duration backoffDuration) {
+        this.maxRequests = maxRequests > 0 ? maxRequests : RandomGenerator.getDefault().nextInt(5, 10);
+        this.backoffDuration = !backoffDuration.isZero()
+                ? backoffDuration
+                : Duration.ofSeconds(RandomGenerator.getDefault().nextInt(30, 90));
+    }
+
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
-        if (requestLimit.get().getCount() >= REQUEST_LIMIT) {
+        if (requestLimit.get().getCount() >= maxRequests) {
             if (Instant.now()
-                    .minus(REQUEST_BACKOFF_DURATION)
+                    .minus(backoffDuration)
                     .isBefore(requestLimit.get().getLastRequested())) {
                 response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
                 return false;
             }
             if (Instant.now()
-                    .minus(REQUEST_BACKOFF_DURATION)
+                    .minus(backoffDuration)
                     .isAfter(requestLimit.get().getLastRequested())) {
                 requestLimit.set(RequestLimit.init());
             }
@@ -0,0 +1,45 @@
+package com.reliaquest.server.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class ShardTest {
+
+    /*
+     * The api routes by-id requests with its own copy of the hash; ShardRouterTest in the api module checks the same
+     * table, so the two cannot drift apart unnoticed.
+     */
+    @Test
+    void testMatchesApiShardRouting() {
+        final int[] counts = {2, 3, 5, 8, 16};
+        final var expected = Map.of(
+                "ba419d35-0dfe-4af7-aee7-bbe10c45c028", new int[] {1, 2, 2, 2, 15},
+                "4f083ce3-f12b-4b4b-86ee-9d82b52c856d", new int[] {0, 0, 4, 4, 4},
+                "aa616abe-1761-4c9a-a743-67bd738597dc", new int[] {1, 2, 4, 6, 6},
+                "5e688e99-61b3-4c88-8697-6cf7b0bfbe20", new int[] {0, 2, 2, 2, 15},
+                "76b20010-c318-4754-886c-400eff88a1e3", new int[] {1, 2, 2, 6, 6},
+                "bff9d9d5-ee3d-4852-a2f6-0bdbcc5c8305", new int[] {1, 1, 3, 3, 3},
+                "2d68ad16-268a-478c-9827-50f4569b5949", new int[] {0, 2, 4, 4, 4});
+
+        expected.forEach((id, shards) -> {
+            for (int i = 0; i < counts.length; i++) {
+                assertEquals(shards[i], Shard.shardOf(UUID.fromString(id), counts[i]), id + " of " + counts[i]);
+            }
+        });
+    }
+
+    @Test
+    void testRandomIdIsOwned() {
+        final var shard = new Shard(2, 3);
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(shard.owns(shard.randomId()));
+        }
+        assertThrows(IllegalArgumentException.class, () -> new Shard(3, 3));
+    }
+}